@@ -0,0 +1,13 @@
+package com.dynamic.orders.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveOrdersApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveOrdersApplication.class, args);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.dynamic.orders.reactive.api;
+
+import com.dynamic.orders.api.OrderETags;
+import com.dynamic.orders.service.ArchivedOrderException;
+import com.dynamic.orders.service.InvalidRequestException;
+import com.dynamic.orders.service.StaleOrderVersionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ReactiveApiErrorHandler {
+
+    /**
+     * Bad client input that passed bean validation (e.g. a malformed cursor).
+     * Only this exception: an IllegalArgumentException from a library is a server
+     * bug, and its message is not meant for clients.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> badRequest(InvalidRequestException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * If-Match named no current version; the 412 carries the current ETag
+     */
+    @ExceptionHandler(StaleOrderVersionException.class)
+    public ResponseEntity<Map<String, String>> preconditionFailed(StaleOrderVersionException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(OrderETags.of(ex.getCurrentVersion()))
+                .body(Map.of("error", "Order was modified concurrently; re-fetch and retry"));
+    }
+
+    /**
+     * Another writer committed first (R2DBC does not say which row, so no ETag)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> preconditionFailed(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", "Order was modified concurrently; re-fetch and retry"));
+    }
+
+    /**
+     * PUT/DELETE of an order that GET still serves from the archive
+     */
+    @ExceptionHandler(ArchivedOrderException.class)
+    public ResponseEntity<Map<String, String>> archived(ArchivedOrderException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -0,0 +1,126 @@
+package com.dynamic.orders.reactive.api;
+
+import com.dynamic.orders.api.*;
+import com.dynamic.orders.reactive.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Same /api/v1/orders contract as the servlet OrdersController. Clients that send
+ * {@code Accept: application/x-ndjson} on the list endpoint get the page streamed
+ * element by element instead of a buffered OrderPage envelope.
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+@CrossOrigin(origins = "http://localhost:4011")
+public class ReactiveOrdersController {
+
+    private final ReactiveOrderService svc;
+
+    public ReactiveOrdersController(ReactiveOrderService svc) {
+        this.svc = svc;
+    }
+
+    @GetMapping("/health")
+    public Map<String, Boolean> health() {
+        return Map.of("ok", true);
+    }
+
+    @GetMapping
+    public Mono<OrderPage> list(@RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer limit) {
+        return svc.list(cursor, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderDto> listStream(@RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit) {
+        return svc.listStream(cursor, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderDto> export() {
+        return svc.exportAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<OrderDto>> get(@PathVariable int id, ServerWebExchange exchange) {
+        return svc.get(id).map(order -> {
+            String etag = OrderETags.of(order);
+            if (exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<OrderDto>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(order);
+        }).defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderDto>> create(@RequestBody @Valid CreateOrderRequest req) {
+        return svc.create(req)
+                .map(created -> ResponseEntity.created(URI.create("/api/v1/orders/" + created.id())).body(created));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<OrderDto>>> createBatch(@RequestBody List<@Valid CreateOrderRequest> reqs) {
+        return svc.createAll(reqs).collectList()
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<OrderDto>> update(@PathVariable int id, @RequestBody @Valid UpdateOrderRequest req,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.fromCallable(() -> OrderETags.parseIfMatch(ifMatch))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(expected -> svc.update(id, req, expected.orElse(null)))
+                .map(order -> ResponseEntity.ok().eTag(OrderETags.of(order)).body(order))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable int id) {
+        return svc.delete(id).map(deleted -> deleted
+                ? ResponseEntity.noContent().<Void>build()
+                : ResponseEntity.notFound().<Void>build());
+    }
+
+    // Additional business endpoints
+
+    @GetMapping("/status/{status}")
+    public Mono<OrderPage> getByStatus(@PathVariable OrderStatus status,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit) {
+        return svc.getOrdersByStatus(status, cursor, limit);
+    }
+
+    @GetMapping("/search")
+    public Mono<OrderPage> searchByItem(@RequestParam String item,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        return svc.searchByItem(item, cursor, limit);
+    }
+
+    @GetMapping("/count")
+    public Mono<Map<String, Long>> getOrderCounts() {
+        return svc.getOrderCountsByStatus().map(byStatus -> {
+            var counts = new LinkedHashMap<String, Long>();
+            counts.put("total", byStatus.values().stream().mapToLong(Long::longValue).sum());
+            byStatus.forEach((status, count) -> counts.put(status.name().toLowerCase(Locale.ROOT), count));
+            return counts;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.dynamic.orders.reactive.model;
+
+import com.dynamic.orders.api.OrderStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC mapping of the {@code orders} table (the JPA side uses OrderEntity).
+ */
+@Table("orders")
+public class OrderRow {
+    @Id
+    private Integer id;
+
+    private String item;
+
+    private BigDecimal price;
+
+    private OrderStatus status;
+
+    // Optimistic lock, same column as OrderEntity.version
+    @Version
+    private Long version;
+
+    public OrderRow() {}
+
+    public OrderRow(String item, BigDecimal price, OrderStatus status) {
+        this.item = item;
+        this.price = price;
+        this.status = status;
+    }
+
+    // Getters and setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getItem() {
+        return item;
+    }
+
+    public void setItem(String item) {
+        this.item = item;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
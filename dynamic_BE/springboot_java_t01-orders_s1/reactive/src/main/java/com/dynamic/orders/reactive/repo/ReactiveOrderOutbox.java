@@ -0,0 +1,60 @@
+package com.dynamic.orders.reactive.repo;
+
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * R2DBC appends to the servlet service's {@code order_outbox} table (see OrderOutbox),
+ * same row format, so its OutboxRelay delivers reactive writes too. Call inside the
+ * transaction of the order change the events describe.
+ */
+@Repository
+public class ReactiveOrderOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_outbox (order_id, event_type, previous_status, payload, created_at)"
+                    + " VALUES (:orderId, :eventType, :previousStatus, :payload, :createdAt)";
+
+    private final DatabaseClient db;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveOrderOutbox(DatabaseClient db, ObjectMapper objectMapper) {
+        this.db = db;
+        this.objectMapper = objectMapper;
+    }
+
+    /** One INSERT per event, in order. */
+    public Mono<Void> append(List<OrderChangeEvent> events) {
+        return Flux.fromIterable(events).concatMap(this::insert).then();
+    }
+
+    private Mono<Long> insert(OrderChangeEvent event) {
+        DatabaseClient.GenericExecuteSpec insert = db.sql(INSERT_SQL)
+                .bind("orderId", event.orderId())
+                .bind("eventType", event.type().name())
+                .bind("payload", writePayload(event))
+                // OrderOutbox writes java.sql.Timestamp, i.e. local time of the default zone
+                .bind("createdAt", LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()));
+        insert = event.previousStatus() == null
+                ? insert.bindNull("previousStatus", String.class)
+                : insert.bind("previousStatus", event.previousStatus().name());
+        return insert.fetch().rowsUpdated();
+    }
+
+    private String writePayload(OrderChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.order());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload for order " + event.orderId(), e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dynamic.orders.reactive.repo;
+
+import com.dynamic.orders.reactive.model.OrderRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveOrderRepository extends ReactiveCrudRepository<OrderRow, Integer> {
+    // ReactiveCrudRepository provides findById, save, saveAll, deleteById, existsById, count
+
+    // KEYSET (CURSOR) PAGINATION - same queries as the servlet OrderRepository
+
+    @Query("SELECT * FROM orders WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<OrderRow> findPage(int afterId, int limit);
+
+    @Query("SELECT * FROM orders WHERE status = :status AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<OrderRow> findPageByStatus(String status, int afterId, int limit);
+
+    // :item is escaped with '!' (ReactiveOrderService.escapeLike); a backslash ESCAPE literal is
+    // spelled differently in MySQL and H2
+    @Query("SELECT * FROM orders WHERE item LIKE CONCAT('%', :item, '%') ESCAPE '!' AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<OrderRow> findPageByItemContaining(String item, int afterId, int limit);
+
+    // Whole table in id order; rows are pulled from the driver as the subscriber requests them
+    @Query("SELECT * FROM orders ORDER BY id")
+    Flux<OrderRow> streamAllOrderById();
+
+    @Query("SELECT status, COUNT(*) AS total FROM orders GROUP BY status")
+    Flux<StatusTotal> countGroupByStatus();
+
+    // ARCHIVE - rows the servlet app's OrderArchiver moved out of orders (read-only)
+
+    @Query("SELECT id, item, price, status, version FROM orders_archive WHERE id = :id")
+    Mono<OrderRow> findArchivedById(int id);
+
+    @Query("SELECT id, item, price, status, version FROM orders_archive ORDER BY id")
+    Flux<OrderRow> streamAllArchivedOrderById();
+
+    @Query("SELECT status, total FROM orders_archive_counts")
+    Flux<StatusTotal> archivedCountsByStatus();
+}
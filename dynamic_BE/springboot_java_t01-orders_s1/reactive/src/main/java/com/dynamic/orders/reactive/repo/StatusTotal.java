@@ -0,0 +1,6 @@
+package com.dynamic.orders.reactive.repo;
+
+/**
+ * One row of a {@code GROUP BY status} aggregate.
+ */
+public record StatusTotal(String status, long total) {}
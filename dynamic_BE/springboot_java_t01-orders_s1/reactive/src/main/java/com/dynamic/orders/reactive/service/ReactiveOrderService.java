@@ -0,0 +1,216 @@
+package com.dynamic.orders.reactive.service;
+
+import com.dynamic.orders.api.*;
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import com.dynamic.orders.reactive.model.OrderRow;
+import com.dynamic.orders.reactive.repo.ReactiveOrderOutbox;
+import com.dynamic.orders.reactive.repo.ReactiveOrderRepository;
+import com.dynamic.orders.service.ArchivedOrderException;
+import com.dynamic.orders.service.InvalidRequestException;
+import com.dynamic.orders.service.OrderCursor;
+import com.dynamic.orders.service.StaleOrderVersionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Non-blocking counterpart of the servlet OrderService: same DTOs, same keyset
+ * paging rules, R2DBC underneath. Writes append to the same outbox in their
+ * transaction.
+ */
+@Service
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository repo;
+    private final ReactiveOrderOutbox outbox;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int batchMaxSize;
+
+    public ReactiveOrderService(ReactiveOrderRepository repo, ReactiveOrderOutbox outbox,
+                                @Value("${orders.page.default-size:50}") int defaultPageSize,
+                                @Value("${orders.page.max-size:500}") int maxPageSize,
+                                @Value("${orders.batch.max-size:5000}") int batchMaxSize) {
+        this.repo = repo;
+        this.outbox = outbox;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public Mono<OrderPage> list(String cursor, Integer limit) {
+        return page(cursor, limit, repo::findPage);
+    }
+
+    public Mono<OrderPage> getOrdersByStatus(OrderStatus status, String cursor, Integer limit) {
+        return page(cursor, limit, (afterId, size) -> repo.findPageByStatus(status.name(), afterId, size));
+    }
+
+    public Mono<OrderPage> searchByItem(String item, String cursor, Integer limit) {
+        String term = escapeLike(item);
+        return page(cursor, limit, (afterId, size) -> repo.findPageByItemContaining(term, afterId, size));
+    }
+
+    /** % and _ match literally, as with the servlet side's derived Containing query. */
+    static String escapeLike(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    /**
+     * One page of orders as a stream (no page envelope); use the cursor of the
+     * last emitted id to continue.
+     */
+    public Flux<OrderDto> listStream(String cursor, Integer limit) {
+        return Flux.defer(() -> repo.findPage(OrderCursor.decode(cursor), clampPageSize(limit)))
+                .map(this::toDto);
+    }
+
+    /**
+     * Every order, emitted as fast as the subscriber requests them: the hot table in
+     * id order, then orders_archive in id order, in one transaction (see
+     * OrderService.exportAll).
+     */
+    @Transactional(readOnly = true)
+    public Flux<OrderDto> exportAll() {
+        return Flux.concat(repo.streamAllOrderById(), repo.streamAllArchivedOrderById()).map(this::toDto);
+    }
+
+    /** Falls back to orders_archive, like OrderService.get. */
+    public Mono<OrderDto> get(int id) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.defer(() -> repo.findArchivedById(id)))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<OrderDto> create(CreateOrderRequest req) {
+        return repo.save(toRow(req))
+                .map(this::toDto)
+                .flatMap(created -> outbox.append(List.of(OrderChangeEvent.created(created))).thenReturn(created));
+    }
+
+    @Transactional
+    public Flux<OrderDto> createAll(List<CreateOrderRequest> reqs) {
+        if (reqs.size() > batchMaxSize) {
+            return Flux.error(new InvalidRequestException("batch size must be <= " + batchMaxSize));
+        }
+        return repo.saveAll(reqs.stream().map(this::toRow).toList())
+                .map(this::toDto)
+                .collectList()
+                .flatMap(created -> outbox.append(created.stream().map(OrderChangeEvent::created).toList())
+                        .thenReturn(created))
+                .flatMapIterable(created -> created);
+    }
+
+    /**
+     * Conditional update, see OrderService.update(int, UpdateOrderRequest, Set).
+     * Like there, a request that changes nothing writes nothing and emits no event.
+     */
+    @Transactional
+    public Mono<OrderDto> update(int id, UpdateOrderRequest req, Set<Long> expectedVersions) {
+        return repo.findById(id)
+                .switchIfEmpty(rejectIfArchived(id))
+                .flatMap(row -> {
+                    if (expectedVersions != null && !expectedVersions.contains(row.getVersion())) {
+                        return Mono.error(new StaleOrderVersionException(id, expectedVersions, row.getVersion()));
+                    }
+                    OrderDto before = toDto(row);
+                    if (req.item() != null) {
+                        row.setItem(req.item());
+                    }
+                    if (req.price() != null) {
+                        row.setPrice(req.price());
+                    }
+                    if (req.status() != null) {
+                        row.setStatus(req.status());
+                    }
+                    if (sameState(before, row)) {
+                        return Mono.just(before);
+                    }
+                    return repo.save(row)
+                            .map(this::toDto)
+                            .flatMap(updated -> outbox.append(List.of(OrderChangeEvent.updated(before.status(), updated)))
+                                    .thenReturn(updated));
+                });
+    }
+
+    @Transactional
+    public Mono<Boolean> delete(int id) {
+        return repo.findById(id)
+                .flatMap(row -> repo.delete(row)
+                        .then(outbox.append(List.of(OrderChangeEvent.deleted(toDto(row)))))
+                        .thenReturn(true))
+                .switchIfEmpty(rejectIfArchived(id).thenReturn(false));
+    }
+
+    /** Not in the hot table: empty (404) unless the archiver moved it, then ArchivedOrderException. */
+    private Mono<OrderRow> rejectIfArchived(int id) {
+        return Mono.defer(() -> repo.findArchivedById(id))
+                .flatMap(archived -> Mono.error(new ArchivedOrderException(id)));
+    }
+
+    /**
+     * Zero-filled count per status from a single GROUP BY query, plus the
+     * archived totals kept in orders_archive_counts.
+     */
+    public Mono<Map<OrderStatus, Long>> getOrderCountsByStatus() {
+        return Flux.concat(repo.countGroupByStatus(), repo.archivedCountsByStatus())
+                .collect(() -> {
+                    Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+                    for (OrderStatus status : OrderStatus.values()) {
+                        counts.put(status, 0L);
+                    }
+                    return counts;
+                }, (counts, row) -> counts.merge(OrderStatus.valueOf(row.status()), row.total(), Long::sum));
+    }
+
+    // Keyset pagination helpers (mirrors OrderService.page)
+
+    private Mono<OrderPage> page(String cursor, Integer limit, BiFunction<Integer, Integer, Flux<OrderRow>> query) {
+        return Mono.defer(() -> {
+            int size = clampPageSize(limit);
+            int afterId = OrderCursor.decode(cursor);
+            return query.apply(afterId, size + 1)
+                    .map(this::toDto)
+                    .collectList()
+                    .map(rows -> {
+                        boolean hasMore = rows.size() > size;
+                        List<OrderDto> items = hasMore ? rows.subList(0, size) : rows;
+                        String nextCursor = hasMore ? OrderCursor.encode(items.get(items.size() - 1).id()) : null;
+                        return new OrderPage(items, nextCursor);
+                    });
+        });
+    }
+
+    private int clampPageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("limit must be >= 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static boolean sameState(OrderDto before, OrderRow row) {
+        return before.item().equals(row.getItem())
+                && before.price().compareTo(row.getPrice()) == 0
+                && before.status() == row.getStatus();
+    }
+
+    private OrderDto toDto(OrderRow row) {
+        return new OrderDto(row.getId(), row.getItem(), row.getPrice(), row.getStatus(), row.getVersion());
+    }
+
+    private OrderRow toRow(CreateOrderRequest req) {
+        return new OrderRow(req.item(), req.price(), OrderStatus.PENDING);
+    }
+}
@@ -0,0 +1,139 @@
+package com.dynamic.orders.reactive.api;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The servlet OrdersController's contract on the WebFlux stack: keyset pages,
+ * literal search terms, 404 for unknown ids, 409 for writes to archived orders
+ * (which are still exported), and an outbox row per change.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.flyway.url=jdbc:h2:mem:reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.locations=classpath:db/migration"
+})
+class ReactiveOrdersControllerTest {
+
+    @Autowired WebTestClient client;
+    @Autowired DatabaseClient db;
+
+    @BeforeEach void reset() {
+        for (String table : List.of("orders", "orders_archive", "order_outbox")) {
+            db.sql("DELETE FROM " + table).then().block();
+        }
+        db.sql("UPDATE orders_archive_counts SET total = 0").then().block();
+    }
+
+    @Test void listFollowsTheCursor() {
+        List<Integer> ids = create("a", "b", "c");
+
+        OrderPage first = page("/api/v1/orders?limit=2");
+        assertEquals(ids.subList(0, 2), first.items().stream().map(OrderDto::id).toList());
+        assertNotNull(first.nextCursor());
+
+        OrderPage last = page("/api/v1/orders?limit=2&cursor=" + first.nextCursor());
+        assertEquals(ids.subList(2, 3), last.items().stream().map(OrderDto::id).toList());
+        assertNull(last.nextCursor());
+
+        client.get().uri("/api/v1/orders?cursor=not-a-cursor").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test void searchTermsAreLiteral() {
+        create("50% off", "50 off", "a_b", "axb", "back\\slash");
+
+        assertEquals(List.of("50% off"), items(page("/api/v1/orders/search?item={t}", "%")));
+        assertEquals(List.of("a_b"), items(page("/api/v1/orders/search?item={t}", "_")));
+        assertEquals(List.of("back\\slash"), items(page("/api/v1/orders/search?item={t}", "\\")));
+        assertEquals(List.of("50% off", "50 off"), items(page("/api/v1/orders/search?item={t}", "50")));
+    }
+
+    @Test void unknownIdsAreNotFound() {
+        client.get().uri("/api/v1/orders/{id}", -1).exchange().expectStatus().isNotFound();
+        client.put().uri("/api/v1/orders/{id}", -1).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("item", "x")).exchange().expectStatus().isNotFound();
+        client.delete().uri("/api/v1/orders/{id}", -1).exchange().expectStatus().isNotFound();
+    }
+
+    @Test void archivedOrdersAreReadOnly() {
+        db.sql("INSERT INTO orders_archive (id, item, price, status, version, updated_at, archived_at)"
+                + " VALUES (900, 'cold', 1.00, 'DELIVERED', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)").then().block();
+        db.sql("UPDATE orders_archive_counts SET total = 1 WHERE status = 'DELIVERED'").then().block();
+
+        client.get().uri("/api/v1/orders/{id}", 900).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .expectBody().jsonPath("$.item").isEqualTo("cold");
+        client.put().uri("/api/v1/orders/{id}", 900).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("item", "x")).exchange()
+                .expectStatus().isEqualTo(409);
+        client.delete().uri("/api/v1/orders/{id}", 900).exchange().expectStatus().isEqualTo(409);
+        client.get().uri("/api/v1/orders/count").exchange()
+                .expectBody().jsonPath("$.total").isEqualTo(1).jsonPath("$.delivered").isEqualTo(1);
+        client.get().uri("/api/v1/orders/export").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(OrderDto.class).value(rows -> assertEquals(List.of(900), rows.stream().map(OrderDto::id).toList()));
+    }
+
+    @Test void writesAppendToTheOutbox() {
+        int id = create("lamp").get(0);
+        client.put().uri("/api/v1/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("status", "SHIPPED")).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+        // nothing changes: no write, no event
+        client.put().uri("/api/v1/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("status", "SHIPPED")).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+        client.delete().uri("/api/v1/orders/{id}", id).exchange().expectStatus().isNoContent();
+
+        List<Map<String, Object>> events = db.sql(
+                        "SELECT order_id, event_type, previous_status, payload FROM order_outbox ORDER BY id")
+                .fetch().all().collectList().block();
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"),
+                events.stream().map(e -> e.get("event_type")).toList());
+        assertTrue(events.stream().allMatch(e -> ((Number) e.get("order_id")).intValue() == id));
+        assertEquals("PENDING", events.get(1).get("previous_status"));
+        assertTrue(events.get(1).get("payload").toString().contains("\"status\":\"SHIPPED\""));
+    }
+
+    private List<Integer> create(String... items) {
+        return Arrays.stream(items)
+                .map(item -> client.post().uri("/api/v1/orders").contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("item", item, "price", 1)).exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(OrderDto.class).returnResult().getResponseBody().id())
+                .toList();
+    }
+
+    private OrderPage page(String uri, Object... vars) {
+        return client.get().uri(uri, vars).exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderPage.class).returnResult().getResponseBody();
+    }
+
+    private static List<String> items(OrderPage page) {
+        return page.items().stream().map(OrderDto::item).toList();
+    }
+}
@@ -0,0 +1,104 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal closed-loop HTTP load generator (no dependencies, JDK 21+).
+ *
+ * Usage: java scripts/LoadTest.java <url> [concurrency] [seconds] [warmupSeconds]
+ *
+ * {id} in the url is replaced by a random id in 1..LOADTEST_MAX_ID (default 1000).
+ * Prints one line: url, concurrency, requests, rps, p50/p90/p99/max in ms, non-2xx count.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: java LoadTest.java <url> [concurrency] [seconds] [warmupSeconds]");
+            System.exit(2);
+        }
+        String url = args[0];
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int maxId = Integer.parseInt(System.getenv().getOrDefault("LOADTEST_MAX_ID", "1000"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        run(client, url, maxId, concurrency, warmup, null);
+        List<long[]> latencies = new ArrayList<>();
+        LongAdder errors = new LongAdder();
+        long elapsedNanos = run(client, url, maxId, concurrency, seconds, new Sink(latencies, errors));
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double rps = all.length / (elapsedNanos / 1e9);
+        System.out.printf("%-45s c=%-4d n=%-8d rps=%-9.0f p50=%-7.2f p90=%-7.2f p99=%-7.2f max=%-8.2f non2xx=%d%n",
+                url, concurrency, all.length, rps,
+                pct(all, 0.50), pct(all, 0.90), pct(all, 0.99), pct(all, 1.0), errors.sum());
+    }
+
+    private record Sink(List<long[]> latencies, LongAdder errors) {}
+
+    private static long run(HttpClient client, String url, int maxId, int concurrency, int seconds, Sink sink)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                pool.submit(() -> {
+                    long[] buf = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        String target = url.replace("{id}",
+                                Integer.toString(ThreadLocalRandom.current().nextInt(1, maxId + 1)));
+                        long t0 = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(HttpRequest.newBuilder(URI.create(target)).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long took = System.nanoTime() - t0;
+                        if (sink == null) {
+                            continue;
+                        }
+                        if (status < 200 || status >= 300) {
+                            sink.errors().increment();
+                        }
+                        if (n == buf.length) {
+                            buf = Arrays.copyOf(buf, n * 2);
+                        }
+                        buf[n++] = took;
+                    }
+                    if (sink != null) {
+                        synchronized (sink.latencies()) {
+                            sink.latencies().add(Arrays.copyOf(buf, n));
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static double pct(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+    }
+}
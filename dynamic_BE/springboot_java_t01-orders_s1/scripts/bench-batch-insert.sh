@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Compare insert throughput: N x POST /api/v1/orders vs POST /api/v1/orders/batch.
+#
+# Usage: scripts/bench-batch-insert.sh [rows] [batch-size] [base-url]
+#   rows        total rows to insert per path      (default 5000)
+#   batch-size  rows per /batch request            (default 500)
+#   base-url    running orders service             (default http://localhost:7011)
+#
+# Both paths reuse one keep-alive connection (single curl process), so the
+# numbers compare server-side cost, not curl start-up time.
+set -euo pipefail
+
+ROWS=${1:-5000}
+BATCH=${2:-500}
+BASE=${3:-http://localhost:7011}
+URL="$BASE/api/v1/orders"
+TMP=$(mktemp -d)
+trap 'rm -rf "$TMP"' EXIT
+
+now_ms() { date +%s%3N; }
+
+# --- single-insert path: one request (and one transaction) per row
+: > "$TMP/single.cfg"
+for ((i = 0; i < ROWS; i++)); do
+  [[ $i -gt 0 ]] && echo 'next' >> "$TMP/single.cfg"
+  cat >> "$TMP/single.cfg" <<CFG
+url = "$URL"
+header = "Content-Type: application/json"
+data = "{\"item\":\"bench-single-$i\",\"price\":1.00}"
+output = "/dev/null"
+silent
+CFG
+done
+
+start=$(now_ms)
+curl -K "$TMP/single.cfg"
+single_ms=$(( $(now_ms) - start ))
+
+# --- batch path: one request per BATCH rows, JDBC batch insert server-side
+: > "$TMP/batch.cfg"
+for ((from = 0; from < ROWS; from += BATCH)); do
+  body="$TMP/batch-$from.json"
+  {
+    printf '['
+    for ((i = from; i < from + BATCH && i < ROWS; i++)); do
+      [[ $i -gt $from ]] && printf ','
+      printf '{"item":"bench-batch-%d","price":1.00}' "$i"
+    done
+    printf ']'
+  } > "$body"
+  [[ $from -gt 0 ]] && echo 'next' >> "$TMP/batch.cfg"
+  cat >> "$TMP/batch.cfg" <<CFG
+url = "$URL/batch"
+header = "Content-Type: application/json"
+data-binary = "@$body"
+output = "/dev/null"
+silent
+CFG
+done
+
+start=$(now_ms)
+curl -K "$TMP/batch.cfg"
+batch_ms=$(( $(now_ms) - start ))
+
+rate() { awk -v r="$1" -v ms="$2" 'BEGIN { printf "%.0f", (ms > 0 ? r * 1000 / ms : 0) }'; }
+
+printf '%-8s %8s %10s %10s\n' path rows ms rows/sec
+printf '%-8s %8d %10d %10s\n' single "$ROWS" "$single_ms" "$(rate "$ROWS" "$single_ms")"
+printf '%-8s %8d %10d %10s\n' batch  "$ROWS" "$batch_ms"  "$(rate "$ROWS" "$batch_ms")"
@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Compare item substring search latency: LIKE '%x%' (full scan) vs the ngram
+# FULLTEXT index (db/vendor/mysql/V2__orders_item_ngram_fulltext.sql).
+#
+# Usage: scripts/bench-search.sh [rows] [runs] [term...]
+#   rows   seed the orders table up to this many rows first   (default 1000000, 0 = no seeding)
+#   runs   timed runs per query                               (default 5)
+#   term   search terms                                       (default: "presso 42" "Bagel" "ZZZ-miss")
+#
+# Connection comes from MYSQL_HOST/MYSQL_PORT/MYSQL_USER/MYSQL_PWD/MYSQL_DB,
+# defaulting to the application-local.yml database. Requires the mysql CLI.
+set -euo pipefail
+
+ROWS=${1:-1000000}
+RUNS=${2:-5}
+shift $(( $# > 2 ? 2 : $# ))
+TERMS=("$@")
+[[ ${#TERMS[@]} -eq 0 ]] && TERMS=("presso 42" "Bagel" "ZZZ-miss")
+
+export MYSQL_PWD=${MYSQL_PWD:-root123}
+MYSQL=(mysql -h "${MYSQL_HOST:-127.0.0.1}" -P "${MYSQL_PORT:-3307}" -u "${MYSQL_USER:-root}" -N -B "${MYSQL_DB:-orders_db}")
+
+now_ms() { date +%s%3N; }
+
+existing=$("${MYSQL[@]}" -e "SELECT COUNT(*) FROM orders")
+if (( ROWS > existing )); then
+  missing=$(( ROWS - existing ))
+  echo "seeding $missing rows (table has $existing)..."
+  "${MYSQL[@]}" -e "
+    SET SESSION cte_max_recursion_depth = $(( missing + 1 ));
+    INSERT INTO orders (item, price, status)
+    WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < $missing)
+    SELECT CONCAT(ELT(1 + n % 8, 'Coffee', 'Tea', 'Latte', 'Mocha', 'Bagel', 'Muffin', 'Espresso', 'Cocoa'),
+                  ' ', n % 1000),
+           ROUND(RAND() * 50, 2),
+           ELT(1 + n % 5, 'PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED')
+    FROM seq;
+    ANALYZE TABLE orders;" > /dev/null
+fi
+
+# prints "min avg" milliseconds over RUNS executions of the given SQL
+time_query() {
+  local sql=$1 total=0 min=-1 start ms
+  for ((r = 0; r < RUNS; r++)); do
+    start=$(now_ms)
+    "${MYSQL[@]}" -e "$sql" > /dev/null
+    ms=$(( $(now_ms) - start ))
+    total=$(( total + ms ))
+    (( min < 0 || ms < min )) && min=$ms
+  done
+  echo "$min $(( total / RUNS ))"
+}
+
+echo "rows: $("${MYSQL[@]}" -e "SELECT COUNT(*) FROM orders")   runs per query: $RUNS"
+printf '%-14s %-9s %8s %8s %8s\n' term path hits min_ms avg_ms
+for term in "${TERMS[@]}"; do
+  esc=${term//\'/\'\'}
+  like="FROM orders WHERE item LIKE '%${esc//\"/}%'"
+  ft="FROM orders WHERE MATCH(item) AGAINST ('\"${esc//\"/}\"' IN BOOLEAN MODE)"
+
+  read -r min avg < <(time_query "SELECT id, item $like ORDER BY id LIMIT 50")
+  printf '%-14s %-9s %8s %8s %8s\n' "$term" like "$("${MYSQL[@]}" -e "SELECT COUNT(*) $like")" "$min" "$avg"
+
+  read -r min avg < <(time_query "SELECT id, item $ft ORDER BY MATCH(item) AGAINST ('\"${esc//\"/}\"' IN BOOLEAN MODE) DESC, id LIMIT 50")
+  printf '%-14s %-9s %8s %8s %8s\n' "$term" fulltext "$("${MYSQL[@]}" -e "SELECT COUNT(*) $ft")" "$min" "$avg"
+done
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Side-by-side load test of the servlet service and the WebFlux/R2DBC variant
+# (reactive/ module) against the same database.
+#
+# Usage: scripts/bench-servlet-vs-reactive.sh [concurrency] [seconds]
+#
+# Both apps use their default datasource settings (MySQL on localhost:3307,
+# see application-local.yml and reactive/src/main/resources/application.properties).
+# Orders are seeded through the servlet /batch endpoint; each app is then driven
+# with scripts/LoadTest.java on GET /{id}, a keyset page and /count.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+SEED=${SEED:-1000}
+SERVLET=http://localhost:7091/api/v1/orders
+REACTIVE=http://localhost:7092/api/v1/orders
+
+./gradlew -q bootJar :reactive:bootJar
+SERVLET_JAR=$(ls build/libs/*SNAPSHOT.jar | grep -v plain | head -1)
+REACTIVE_JAR=$(ls reactive/build/libs/*SNAPSHOT.jar | grep -v plain | head -1)
+
+java -jar "$SERVLET_JAR" --spring.profiles.active=local --server.port=7091 --management.server.port=7091 \
+  > build/bench-servlet.log 2>&1 &
+SERVLET_PID=$!
+java -jar "$REACTIVE_JAR" --server.port=7092 > build/bench-reactive.log 2>&1 &
+REACTIVE_PID=$!
+trap 'kill $SERVLET_PID $REACTIVE_PID 2>/dev/null || true' EXIT
+
+for base in "$SERVLET" "$REACTIVE"; do
+  for _ in $(seq 1 90); do curl -sf "$base/health" > /dev/null && break; sleep 1; done
+done
+
+body=$(printf '{"item":"bench-%d","price":1.00},' $(seq 1 "$SEED"))
+curl -sf -o /dev/null -H 'Content-Type: application/json' -d "[${body%,}]" "$SERVLET/batch"
+MAX_ID=$(curl -sf "$SERVLET/count" | sed -E 's/.*"total":([0-9]+).*/\1/')
+
+for name in servlet reactive; do
+  base=$SERVLET; [[ $name == reactive ]] && base=$REACTIVE
+  echo "== $name"
+  LOADTEST_MAX_ID=$MAX_ID java scripts/LoadTest.java "$base/{id}" "$CONCURRENCY" "$SECONDS_PER_RUN"
+  java scripts/LoadTest.java "$base?limit=50" "$CONCURRENCY" "$SECONDS_PER_RUN"
+  java scripts/LoadTest.java "$base/count" "$CONCURRENCY" "$SECONDS_PER_RUN"
+done
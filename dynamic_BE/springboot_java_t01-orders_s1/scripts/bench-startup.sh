@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Startup time and memory per launch variant: milliseconds from process start to
+# the first 200 from /health, and resident set size at that moment.
+#
+# Usage: scripts/bench-startup.sh [runs] [-- app-args...]
+#   runs      launches per variant, averaged       (default 5)
+#   app-args  passed to every variant              (default --spring.profiles.active=local)
+#
+# Variants (those whose artifacts are missing are skipped):
+#   jar        java -jar build/libs/*SNAPSHOT.jar
+#   extracted  java -jar app.jar in build/cds/app                  (./gradlew extractBootJar)
+#   cds        + -XX:SharedArchiveFile=../app.jsa                  (./gradlew cdsArchive)
+#   aot        + -Dspring.aot.enabled=true                         (jar built with -Paot)
+#   aot+cds    + -XX:SharedArchiveFile=../app-aot.jsa              (./gradlew cdsArchive -Pcds.aot=true ...)
+#   native     build/native/nativeCompile/orders                   (./gradlew nativeCompile -Pnative)
+#
+# The archives record the class path as the training run saw it (app.jar, relative), so the
+# extracted variants start from build/cds/app; the JVM silently ignores a mismatching archive.
+#
+# JAVA must be the JDK that recorded the archives (default: java on PATH);
+# PORT is the port the app args make it listen on (default 7011).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=5
+if [[ $# -gt 0 && $1 != -- ]]; then RUNS=$1; shift; fi
+[[ ${1:-} == -- ]] && shift
+APP_ARGS=("$@")
+[[ ${#APP_ARGS[@]} -eq 0 ]] && APP_ARGS=(--spring.profiles.active=local)
+JAVA=${JAVA:-java}
+PORT=${PORT:-7011}
+HEALTH="http://localhost:$PORT/api/v1/orders/health"
+
+JAR=$(ls build/libs/*SNAPSHOT.jar 2>/dev/null | grep -v plain | head -1 || true)
+APP=build/cds/app/app.jar
+NATIVE=build/native/nativeCompile/orders
+# bootJar carries the AOT bean graph only when built with -Paot
+AOT=$([[ -f $APP ]] && unzip -l "$APP" 2>/dev/null | grep -q '__ApplicationContextInitializer' && echo yes || true)
+
+now_ms() { date +%s%3N; }
+
+# run a command from the extracted layout (exec: the background pid stays the JVM's)
+in_app() { cd build/cds/app && exec "$@"; }
+
+# launch once; prints "<ms to healthy> <rss kB>"
+measure() {
+  local start pid ms rss
+  start=$(now_ms)
+  "$@" "${APP_ARGS[@]}" > /tmp/bench-startup.log 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$HEALTH"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "exited before becoming healthy, see /tmp/bench-startup.log" >&2; return 1
+    fi
+    sleep 0.05
+  done
+  ms=$(( $(now_ms) - start ))
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$ms $rss"
+}
+
+variant() {
+  local name=$1; shift
+  local total_ms=0 total_rss=0 result
+  for ((i = 0; i < RUNS; i++)); do
+    result=$(measure "$@") || { printf '%-10s failed\n' "$name"; return 0; }
+    total_ms=$(( total_ms + ${result% *} ))
+    total_rss=$(( total_rss + ${result#* } ))
+  done
+  printf '%-10s %6d %12d %10d\n' "$name" "$RUNS" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+if curl -sf -o /dev/null "$HEALTH"; then
+  echo "something already answers $HEALTH; stop it first" >&2; exit 1
+fi
+
+printf '%-10s %6s %12s %10s\n' variant runs ms-to-health rss-MB
+[[ -n $JAR ]]                  && variant jar       "$JAVA" -jar "$JAR"
+[[ -f $APP ]]                  && variant extracted in_app "$JAVA" -jar app.jar
+[[ -f build/cds/app.jsa ]]     && variant cds       in_app "$JAVA" -XX:SharedArchiveFile=../app.jsa -jar app.jar
+[[ -n $AOT ]]                  && variant aot       in_app "$JAVA" -Dspring.aot.enabled=true -jar app.jar
+[[ -f build/cds/app-aot.jsa ]] && variant aot+cds   in_app "$JAVA" -XX:SharedArchiveFile=../app-aot.jsa -Dspring.aot.enabled=true -jar app.jar
+[[ -x $NATIVE ]]               && variant native    "$NATIVE"
+exit 0
@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Point-read latency while /search full scans flood the service, with the
+# per-endpoint-group concurrency limits (orders.limits.*) off and on.
+#
+# Usage: scripts/loadtest-shedding.sh [scan-concurrency] [read-concurrency] [seconds] [-- extra app args]
+#   e.g. scripts/loadtest-shedding.sh 200 32 30 -- --spring.profiles.active=local
+#
+# Boots the bootJar once per mode on port 7092, seeds SEED orders through /batch,
+# then runs a closed-loop /search storm (no match, so every call scans the table)
+# and GET /{id} side by side with scripts/LoadTest.java. The point-read line is
+# the one to compare: with limits on, excess scans get 503 at once (non2xx on
+# the scan line) and stop holding the Tomcat threads and connections that point
+# reads need.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+SCANS=${1:-200}
+READS=${2:-32}
+SECONDS_PER_RUN=${3:-30}
+shift $(( $# > 3 ? 3 : $# ))
+[[ "${1:-}" == "--" ]] && shift
+APP_ARGS=("$@")
+PORT=7092
+BASE="http://localhost:$PORT/api/v1/orders"
+SEED=${SEED:-20000}
+WARMUP=5
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*SNAPSHOT.jar | grep -v plain | head -1)
+
+APP_PID=
+# wait for the exit too, or the next mode's JVM finds the port still taken
+stop_app() {
+  [[ -n $APP_PID ]] || return 0
+  kill "$APP_PID" 2>/dev/null || true
+  wait "$APP_PID" 2>/dev/null || true
+  APP_PID=
+}
+trap stop_app EXIT
+
+if curl -sf -o /dev/null "$BASE/health"; then
+  echo "something already answers $BASE/health; stop it first" >&2; exit 1
+fi
+
+run_mode() {
+  local mode=$1 limits=$2
+  java -jar "$JAR" --server.port=$PORT --management.server.port=$PORT \
+    --management.endpoints.web.exposure.include=health,limits \
+    --orders.limits.enabled="$limits" "${APP_ARGS[@]}" > "build/loadtest-shedding-$mode.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 90); do
+    kill -0 "$APP_PID" 2>/dev/null || { echo "app exited, see build/loadtest-shedding-$mode.log" >&2; exit 1; }
+    curl -sf "$BASE/health" > /dev/null && break
+    sleep 1
+  done
+
+  local from
+  for ((from = 1; from <= SEED; from += 5000)); do
+    # body on stdin: 5000 rows are too long for one argument
+    printf '{"item":"load-%d","price":1.00},' $(seq "$from" $(( from + 4999 < SEED ? from + 4999 : SEED ))) \
+      | sed 's/^/[/; s/,$/]/' \
+      | curl -sf -o /dev/null -H 'Content-Type: application/json' --data-binary @- "$BASE/batch"
+  done
+
+  echo "== limits $mode"
+  # the storm starts first and outlasts the point-read run
+  java scripts/LoadTest.java "$BASE/search?item=no-such-item&limit=20" "$SCANS" $(( SECONDS_PER_RUN + 2 )) "$WARMUP" &
+  local storm=$!
+  sleep 2
+  LOADTEST_MAX_ID=$SEED java scripts/LoadTest.java "$BASE/{id}" "$READS" "$SECONDS_PER_RUN" "$WARMUP"
+  wait "$storm"
+  if [[ $limits == true ]]; then
+    curl -sf "http://localhost:$PORT/actuator/limits" && echo
+  fi
+  stop_app
+}
+
+run_mode off false
+run_mode on true
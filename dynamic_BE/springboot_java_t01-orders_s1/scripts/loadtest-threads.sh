@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Compare platform-thread vs virtual-thread mode (profile "vthreads") under load.
+#
+# Usage: scripts/loadtest-threads.sh [concurrency] [seconds] [-- extra app args]
+#   e.g. scripts/loadtest-threads.sh 400 30 -- --spring.profiles.active=local
+#
+# Boots the bootJar once per mode on port 7091 (the virtual run adds the
+# "vthreads" profile to any --spring.profiles.active given, so it also gets that
+# profile's Hikari and Tomcat settings), seeds orders through /batch, then drives GET /{id} and /search with scripts/LoadTest.java and prints
+# throughput and p50/p90/p99 latency for each mode.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+shift $(( $# > 2 ? 2 : $# ))
+[[ "${1:-}" == "--" ]] && shift
+APP_ARGS=()
+PROFILES=""
+for arg in "$@"; do
+  case "$arg" in
+    --spring.profiles.active=*) PROFILES=${arg#*=} ;;
+    *) APP_ARGS+=("$arg") ;;
+  esac
+done
+PORT=7091
+BASE="http://localhost:$PORT/api/v1/orders"
+SEED=${SEED:-1000}
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*SNAPSHOT.jar | grep -v plain | head -1)
+
+run_mode() {
+  local mode=$1 profiles=$2
+  java -jar "$JAR" --server.port=$PORT --management.server.port=$PORT \
+    ${profiles:+--spring.profiles.active="$profiles"} "${APP_ARGS[@]}" > "build/loadtest-$mode.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  for _ in $(seq 1 90); do curl -sf "$BASE/health" > /dev/null && break; sleep 1; done
+
+  local body
+  body=$(printf '{"item":"load-%d","price":1.00},' $(seq 1 "$SEED"))
+  curl -sf -o /dev/null -H 'Content-Type: application/json' -d "[${body%,}]" "$BASE/batch"
+
+  echo "== $mode threads"
+  LOADTEST_MAX_ID=$SEED java scripts/LoadTest.java "$BASE/{id}" "$CONCURRENCY" "$SECONDS_PER_RUN"
+  java scripts/LoadTest.java "$BASE/search?item=load-1&limit=20" "$CONCURRENCY" "$SECONDS_PER_RUN"
+}
+
+run_mode platform "$PROFILES"
+run_mode virtual "${PROFILES:+$PROFILES,}vthreads"
@@ -0,0 +1,112 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderPage;
+import com.dynamic.orders.mapper.OrderMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An OrderPage of 10k orders in each response encoding, with and without gzip
+ * (as applied by server.compression): encode/decode time per page. The payload
+ * benchmark records the encoded size of each combination as its payload:bytes
+ * counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEncodingBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String encoding;
+
+    @Param({"identity", "gzip"})
+    String compression;
+
+    @Param({"10000"})
+    int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private OrderPage page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (encoding) {
+            case "json" -> new JsonFactory();
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> throw new IllegalArgumentException(encoding);
+        };
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        writer = objectMapper.writerFor(OrderPage.class);
+        reader = objectMapper.readerFor(OrderPage.class);
+
+        OrderMapper mapper = new OrderMapper();
+        List<OrderDto> dtos = OrderFixtures.entities(size).stream().map(mapper::toDto).toList();
+        page = new OrderPage(dtos, "aWQ6MTAwMDA");
+        encoded = encode();
+    }
+
+    /** Encoded page size in bytes; JMH reports it next to the payload score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+    }
+
+    /**
+     * Encodes the page once to record its size. JMH sums EVENTS counters over
+     * measurement iterations, hence exactly one (keep -i/-f at 1 for this one).
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void payload(Payload payload) throws IOException {
+        payload.bytes = encode().length;
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = compress(bytes)) {
+            writer.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public OrderPage decode() throws IOException {
+        try (InputStream in = decompress(new ByteArrayInputStream(encoded))) {
+            return reader.readValue(in);
+        }
+    }
+
+    private OutputStream compress(OutputStream out) throws IOException {
+        return "gzip".equals(compression) ? new GZIPOutputStream(out, 8192) : out;
+    }
+
+    private InputStream decompress(InputStream in) throws IOException {
+        return "gzip".equals(compression) ? new GZIPInputStream(in, 8192) : in;
+    }
+}
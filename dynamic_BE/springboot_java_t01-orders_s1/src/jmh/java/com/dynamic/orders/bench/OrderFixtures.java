@@ -0,0 +1,48 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.model.OrderEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic test data shared by the benchmarks. */
+final class OrderFixtures {
+
+    private static final String[] ITEMS = {"Coffee", "Tea", "Latte", "Mocha", "Bagel", "Muffin", "Espresso", "Cocoa"};
+
+    private OrderFixtures() {}
+
+    static List<OrderEntity> entities(int count) {
+        List<OrderEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderEntity entity = new OrderEntity(item(i), price(i), status(i));
+            entity.setId(i + 1);
+            entity.setVersion((long) (i % 3));
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    static List<CreateOrderRequest> createRequests(int count) {
+        List<CreateOrderRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new CreateOrderRequest(item(i), price(i)));
+        }
+        return requests;
+    }
+
+    private static String item(int i) {
+        return ITEMS[i % ITEMS.length] + " #" + i;
+    }
+
+    private static BigDecimal price(int i) {
+        return BigDecimal.valueOf(100 + (i * 37L) % 5000, 2);
+    }
+
+    private static OrderStatus status(int i) {
+        return OrderStatus.values()[i % OrderStatus.values().length];
+    }
+}
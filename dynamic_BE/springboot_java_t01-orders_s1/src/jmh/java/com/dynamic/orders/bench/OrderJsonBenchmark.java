@@ -0,0 +1,54 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderPage;
+import com.dynamic.orders.mapper.OrderMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of OrderDto lists / OrderPage envelopes for 1 / 100 / 10k orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter pageWriter;
+    private List<OrderDto> dtos;
+    private OrderPage page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderDto.class));
+        pageWriter = objectMapper.writerFor(OrderPage.class);
+
+        OrderMapper mapper = new OrderMapper();
+        dtos = OrderFixtures.entities(size).stream().map(mapper::toDto).toList();
+        page = new OrderPage(dtos, "aWQ6MTAw");
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.SpringbootJavaT01OrdersS1Application;
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.api.UpdateOrderRequest;
+import com.dynamic.orders.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status dashboard traffic against OrderService with the Hibernate second-level
+ * and query cache off and on: status pages, per-status counts and the status
+ * histogram, with {@code writePercent} of the calls changing an order's status
+ * (each write invalidates every cached query over orders). Orders are spread
+ * evenly over the five statuses. The table is large enough for the GROUP BY
+ * and per-status COUNT to cost real time; at 10k rows in-process H2 answers them
+ * in microseconds and both variants are within noise of each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderL2CacheBenchmark {
+
+    private static final int SEED_CHUNK = 1000;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"10000", "200000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean l2cache;
+
+    @Param({"0", "2"})
+    int writePercent;
+
+    private ConfigurableApplicationContext context;
+    private OrderService service;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(SpringbootJavaT01OrdersS1Application.class)
+                .web(WebApplicationType.NONE)
+                // command-line args: unlike builder properties they override application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:l2bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--orders.cache.enabled=false",
+                        "--orders.l2cache.enabled=" + l2cache,
+                        "--orders.outbox.relay.enabled=false",
+                        "--orders.archive.enabled=false",
+                        "--logging.level.root=WARN");
+        service = context.getBean(OrderService.class);
+        List<CreateOrderRequest> seed = OrderFixtures.createRequests(rows);
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            service.createAll(seed.subList(from, Math.min(from + SEED_CHUNK, rows)));
+        }
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (OrderStatus status : STATUSES) {
+            jdbc.update("UPDATE orders SET status = ? WHERE MOD(id, ?) = ?",
+                    status.name(), STATUSES.length, status.ordinal());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object readHeavyMix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        int dice = random.nextInt(100);
+        if (dice < writePercent) {
+            return service.update(random.nextInt(1, rows + 1), new UpdateOrderRequest(null, null, status));
+        }
+        if (dice < 40) {
+            return service.getOrdersByStatus(status, null, 50);
+        }
+        if (dice < 70) {
+            return service.getOrderCountsByStatus();
+        }
+        return service.getOrderCountByStatus(status);
+    }
+}
@@ -0,0 +1,71 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.api.UpdateOrderRequest;
+import com.dynamic.orders.mapper.OrderMapper;
+import com.dynamic.orders.model.OrderEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderMapper cost for 1 / 100 / 10k orders (one op = the whole list).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    private final OrderMapper mapper = new OrderMapper();
+    private final UpdateOrderRequest update =
+            new UpdateOrderRequest("Updated", BigDecimal.valueOf(999, 2), OrderStatus.CONFIRMED);
+
+    private List<OrderEntity> entities;
+    private List<OrderDto> dtos;
+    private List<CreateOrderRequest> requests;
+
+    @Setup
+    public void setUp() {
+        entities = OrderFixtures.entities(size);
+        dtos = entities.stream().map(mapper::toDto).toList();
+        requests = OrderFixtures.createRequests(size);
+    }
+
+    @Benchmark
+    public List<OrderDto> toDto() {
+        return entities.stream().map(mapper::toDto).toList();
+    }
+
+    @Benchmark
+    public void toEntityFromDto(Blackhole bh) {
+        for (OrderDto dto : dtos) {
+            bh.consume(mapper.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public void toEntityFromCreateRequest(Blackhole bh) {
+        for (CreateOrderRequest request : requests) {
+            bh.consume(mapper.toEntity(request));
+        }
+    }
+
+    @Benchmark
+    public List<OrderEntity> updateEntity() {
+        for (OrderEntity entity : entities) {
+            mapper.updateEntity(update, entity);
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dynamic.orders.bench;
+
+import com.dynamic.orders.SpringbootJavaT01OrdersS1Application;
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderPage;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full OrderService calls (transaction, JPA, mapping) against an embedded H2
+ * database in MySQL mode with the Flyway schema, seeded with {@code rows} orders.
+ * The read-through and Hibernate caches are off so get() measures the database path; seeded
+ * orders are all PENDING, so listByStatusMaxPage returns full 500-row pages. The outbox
+ * relay, archiver and SQL profiler are off so no background work shares the CPU, and each
+ * iteration starts from the seeded table (createBatchOf100 would otherwise keep growing it).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    // stays under orders.batch.max-size
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"10000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrderService service;
+    private JdbcTemplate jdbc;
+    private int seededMaxId;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(SpringbootJavaT01OrdersS1Application.class)
+                .web(WebApplicationType.NONE)
+                // command-line args: unlike builder properties they override application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--orders.cache.enabled=false",
+                        "--orders.l2cache.enabled=false",
+                        "--orders.outbox.relay.enabled=false",
+                        "--orders.archive.enabled=false",
+                        "--orders.sql-profiler.enabled=false",
+                        "--logging.level.root=WARN");
+        service = context.getBean(OrderService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        List<CreateOrderRequest> seed = OrderFixtures.createRequests(rows);
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            service.createAll(seed.subList(from, Math.min(from + SEED_CHUNK, rows)));
+        }
+        seededMaxId = jdbc.queryForObject("SELECT MAX(id) FROM orders", Integer.class);
+    }
+
+    /** Drop orders created by earlier iterations, and the outbox rows nothing relays. */
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        jdbc.update("DELETE FROM orders WHERE id > ?", seededMaxId);
+        jdbc.update("DELETE FROM order_outbox");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<OrderDto> get() {
+        return service.get(ThreadLocalRandom.current().nextInt(1, rows + 1));
+    }
+
+    @Benchmark
+    public OrderPage listFirstPage() {
+        return service.list(null, 50);
+    }
+
+    @Benchmark
+    public OrderPage listByStatusMaxPage() {
+        return service.getOrdersByStatus(OrderStatus.PENDING, null, 500);
+    }
+
+    @Benchmark
+    public Map<OrderStatus, Long> countsByStatus() {
+        return service.getOrderCountsByStatus();
+    }
+
+    @Benchmark
+    public List<OrderDto> createBatchOf100() {
+        return service.createAll(OrderFixtures.createRequests(100));
+    }
+}
@@ -0,0 +1,100 @@
+package com.dynamic.orders.api;
+
+import com.dynamic.orders.idempotency.IdempotencyInProgressException;
+import com.dynamic.orders.idempotency.IdempotencyKeyReuseException;
+import com.dynamic.orders.service.ArchivedOrderException;
+import com.dynamic.orders.service.CoalescedReadTimeoutException;
+import com.dynamic.orders.service.InvalidRequestException;
+import com.dynamic.orders.service.OrderService;
+import com.dynamic.orders.service.StaleOrderVersionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiErrorHandler {
+
+    private final OrderService orders;
+
+    public ApiErrorHandler(OrderService orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * Bad client input that passed bean validation (e.g. a malformed cursor).
+     * Only this exception: an IllegalArgumentException from a library is a server
+     * bug, and its message is not meant for clients.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> badRequest(InvalidRequestException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * If-Match named no current version; the 412 carries the current ETag
+     */
+    @ExceptionHandler(StaleOrderVersionException.class)
+    public ResponseEntity<Map<String, String>> preconditionFailed(StaleOrderVersionException ex) {
+        return preconditionFailed(OrderETags.of(ex.getCurrentVersion()));
+    }
+
+    /**
+     * Another writer committed first; the current ETag is re-read when the entity id is known
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> preconditionFailed(OptimisticLockingFailureException ex) {
+        String etag = ex instanceof ObjectOptimisticLockingFailureException lost
+                && lost.getIdentifier() instanceof Integer id
+                ? orders.get(id).map(OrderETags::of).orElse(null)
+                : null;
+        return preconditionFailed(etag);
+    }
+
+    private static ResponseEntity<Map<String, String>> preconditionFailed(String etag) {
+        var response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(Map.of("error", "Order was modified concurrently; re-fetch and retry"));
+    }
+
+    /**
+     * PUT/DELETE of an order that GET still serves from the archive
+     */
+    @ExceptionHandler(ArchivedOrderException.class)
+    public ResponseEntity<Map<String, String>> archived(ArchivedOrderException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Idempotency-Key already used with a different request body
+     */
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, String>> idempotencyKeyReused(IdempotencyKeyReuseException ex) {
+        return ResponseEntity.unprocessableEntity().body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Same Idempotency-Key still being processed by another request
+     */
+    @ExceptionHandler(IdempotencyInProgressException.class)
+    public ResponseEntity<Map<String, String>> idempotencyInProgress(IdempotencyInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Shared read of the same order/count did not finish in time; the database is struggling
+     */
+    @ExceptionHandler(CoalescedReadTimeoutException.class)
+    public ResponseEntity<Map<String, String>> coalescedReadTimedOut(CoalescedReadTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -6,6 +6,7 @@ public record OrderDto(
         Integer id,
         String item,
         BigDecimal price,
-        OrderStatus status
+        OrderStatus status,
+        Long version
 ) {}
 
@@ -0,0 +1,54 @@
+package com.dynamic.orders.api;
+
+import com.dynamic.orders.service.InvalidRequestException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong ETags for orders, derived from the optimistic-lock version: {@code "<version>"}.
+ */
+public final class OrderETags {
+
+    // one list element: optional weak prefix, quoted tag, then a comma or the end
+    private static final Pattern ENTITY_TAG = Pattern.compile("\\s*(W/)?\"([^\"]*)\"\\s*(?:,|$)");
+    private static final Pattern VERSION = Pattern.compile("[0-9]{1,18}");
+
+    private OrderETags() {}
+
+    public static String of(OrderDto order) {
+        return of(order.version());
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versions an If-Match header accepts, or null when the header is absent or
+     * {@code *} (any current representation). Any listed tag may match. If-Match
+     * compares strongly, so weak tags and tags that are not an order version match
+     * nothing; with none left the set is empty and the update fails with 412.
+     * Only a header that is not a list of entity tags is rejected.
+     */
+    public static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        Matcher tag = ENTITY_TAG.matcher(ifMatch);
+        int at = 0;
+        while (at < ifMatch.length()) {
+            if (!tag.region(at, ifMatch.length()).lookingAt()) {
+                throw new InvalidRequestException("If-Match must list ETags such as \"3\"");
+            }
+            if (tag.group(1) == null && VERSION.matcher(tag.group(2)).matches()) {
+                versions.add(Long.parseLong(tag.group(2)));
+            }
+            at = tag.end();
+        }
+        return versions;
+    }
+}
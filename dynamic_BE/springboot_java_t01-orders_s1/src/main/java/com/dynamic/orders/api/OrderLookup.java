@@ -0,0 +1,16 @@
+package com.dynamic.orders.api;
+
+import java.util.List;
+
+/**
+ * Multi-get result. {@code results} has one entry per requested id, in request
+ * order (duplicates included); ids with no order have {@code found=false} and
+ * a null {@code order}, and are also listed in {@code missing}.
+ */
+public record OrderLookup(
+        List<Entry> results,
+        List<Integer> missing
+) {
+
+    public record Entry(int id, boolean found, OrderDto order) {}
+}
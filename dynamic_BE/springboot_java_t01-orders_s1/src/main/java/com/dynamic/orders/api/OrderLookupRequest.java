@@ -0,0 +1,10 @@
+package com.dynamic.orders.api;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/** Body of POST /api/v1/orders/lookup, for id sets too large for a query string. */
+public record OrderLookupRequest(
+        @NotEmpty List<@NotNull Integer> ids
+) {}
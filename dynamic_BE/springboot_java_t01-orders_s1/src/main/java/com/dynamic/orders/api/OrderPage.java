@@ -0,0 +1,12 @@
+package com.dynamic.orders.api;
+
+import java.util.List;
+
+/**
+ * One keyset page of orders. {@code nextCursor} is opaque to clients and is
+ * null once the last page has been returned.
+ */
+public record OrderPage(
+        List<OrderDto> items,
+        String nextCursor
+) {}
@@ -1,12 +1,27 @@
 package com.dynamic.orders.api;
 
+import com.dynamic.orders.idempotency.IdempotentOrderCreator;
 import com.dynamic.orders.service.OrderService;
+import com.dynamic.orders.stream.OrderChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -14,10 +29,20 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:4011")
 public class OrdersController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+
     private final OrderService svc;
+    private final OrderChangeFeed changeFeed;
+    private final IdempotentOrderCreator idempotentCreator;
+    private final ObjectWriter orderWriter;
 
-    public OrdersController(OrderService svc) {
+    public OrdersController(OrderService svc, OrderChangeFeed changeFeed, IdempotentOrderCreator idempotentCreator,
+                            ObjectMapper objectMapper) {
         this.svc = svc;
+        this.changeFeed = changeFeed;
+        this.idempotentCreator = idempotentCreator;
+        this.orderWriter = objectMapper.writerFor(OrderDto.class);
     }
 
     @GetMapping("/health")
@@ -25,26 +50,118 @@ public class OrdersController {
         return ResponseEntity.ok(Map.of("ok", true));
     }
 
+    /**
+     * Keyset pages over the hot table only: orders moved to the archive (see
+     * OrderArchiver) are not listed, but {@code /{id}}, {@code /count} and
+     * {@code /export} still include them.
+     */
     @GetMapping
-    public List<OrderDto> list() {
-        return svc.list();
+    public OrderPage list(@RequestParam(required = false) String cursor,
+                          @RequestParam(required = false) Integer limit) {
+        return svc.list(cursor, limit);
+    }
+
+    /**
+     * Multi-get: {@code GET /api/v1/orders?ids=1,2,3}. One response in request
+     * order instead of one round trip per id; see {@link OrderLookup}.
+     */
+    @GetMapping(params = "ids")
+    public OrderLookup lookup(@RequestParam List<Integer> ids) {
+        return svc.getAll(ids);
+    }
+
+    /** Multi-get with the ids in the body, for sets too long for a URL. */
+    @PostMapping("/lookup")
+    public OrderLookup lookup(@Valid @RequestBody OrderLookupRequest req) {
+        return svc.getAll(req.ids());
+    }
+
+    /**
+     * Server-Sent Events feed of committed changes: {@code created}, {@code updated}
+     * and {@code deleted} events carrying the OrderDto. Reconnecting with
+     * {@code Last-Event-ID} replays missed events, or sends {@code reset} when the
+     * client has to reload the list.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Stream every order, archived ones included (after the hot table), as
+     * newline-delimited JSON, flushing every {@value #EXPORT_FLUSH_EVERY} rows so
+     * clients start receiving data immediately.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> {
+            var buffered = new BufferedOutputStream(out, 64 * 1024);
+            int[] written = {0};
+            try {
+                svc.exportAll(dto -> {
+                    try {
+                        buffered.write(orderWriter.writeValueAsBytes(dto));
+                        buffered.write('\n');
+                        if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+                            buffered.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
+    /**
+     * The order's version is its strong ETag; a matching If-None-Match gets 304.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDto> get(@PathVariable int id) {
-        return svc.get(id).map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<OrderDto> get(@PathVariable int id, WebRequest request) {
+        return svc.get(id).map(order -> {
+            String etag = OrderETags.of(order);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<OrderDto>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(order);
+        }).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * With an {@code Idempotency-Key} header, retries of the same request return
+     * the original order (marked {@code Idempotent-Replayed: true}) instead of
+     * creating another one.
+     */
     @PostMapping
-    public ResponseEntity<OrderDto> create(@RequestBody @Valid CreateOrderRequest req) {
-        var created = svc.create(req);
-        return ResponseEntity.created(URI.create("/api/v1/orders/" + created.id())).body(created);
+    public ResponseEntity<OrderDto> create(@RequestBody @Valid CreateOrderRequest req,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            var created = svc.create(req);
+            return ResponseEntity.created(URI.create("/api/v1/orders/" + created.id())).body(created);
+        }
+        var result = idempotentCreator.create(idempotencyKey, req);
+        return ResponseEntity.created(URI.create("/api/v1/orders/" + result.order().id()))
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.order());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderDto>> createBatch(@RequestBody List<@Valid CreateOrderRequest> reqs) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(svc.createAll(reqs));
     }
 
+    /**
+     * With If-Match the update only applies to that version of the order (412 otherwise).
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<OrderDto> update(@PathVariable int id, @RequestBody @Valid UpdateOrderRequest req) {
-        return svc.update(id, req).map(ResponseEntity::ok)
+    public ResponseEntity<OrderDto> update(@PathVariable int id, @RequestBody @Valid UpdateOrderRequest req,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return svc.update(id, req, OrderETags.parseIfMatch(ifMatch))
+                .map(order -> ResponseEntity.ok().eTag(OrderETags.of(order)).body(order))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -55,34 +172,40 @@ public class OrdersController {
 
     // Additional business endpoints
 
+    /**
+     * Hot table only, like {@link #list}: archived DELIVERED and CANCELLED orders
+     * are counted by {@code /count} but not paged here.
+     */
     @GetMapping("/status/{status}")
-    public List<OrderDto> getByStatus(@PathVariable OrderStatus status) {
-        return svc.getOrdersByStatus(status);
+    public OrderPage getByStatus(@PathVariable OrderStatus status,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(required = false) Integer limit) {
+        return svc.getOrdersByStatus(status, cursor, limit);
     }
 
+    /** Hot table only, like {@link #list}. */
     @GetMapping("/search")
-    public List<OrderDto> searchByItem(@RequestParam String item) {
-        return svc.searchByItem(item);
+    public OrderPage searchByItem(@RequestParam String item,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer limit) {
+        return svc.searchByItem(item, cursor, limit);
+    }
+
+    @GetMapping("/search/ranked")
+    public List<OrderDto> searchByItemRanked(@RequestParam String item,
+                                             @RequestParam(required = false) Integer limit) {
+        return svc.searchByItemRanked(item, limit);
     }
 
     @GetMapping("/count")
     public ResponseEntity<Map<String, Long>> getOrderCounts() {
-        long totalCount = svc.getOrderCount();
-        long pendingCount = svc.getOrderCountByStatus(OrderStatus.PENDING);
-        long confirmedCount = svc.getOrderCountByStatus(OrderStatus.CONFIRMED);
-        long shippedCount = svc.getOrderCountByStatus(OrderStatus.SHIPPED);
-        long deliveredCount = svc.getOrderCountByStatus(OrderStatus.DELIVERED);
-        long cancelledCount = svc.getOrderCountByStatus(OrderStatus.CANCELLED);
-
-        var counts = Map.of(
-            "total", totalCount,
-            "pending", pendingCount,
-            "confirmed", confirmedCount,
-            "shipped", shippedCount,
-            "delivered", deliveredCount,
-            "cancelled", cancelledCount
-        );
-        
+        // one GROUP BY query instead of a COUNT per status; total is derived from it
+        Map<OrderStatus, Long> byStatus = svc.getOrderCountsByStatus();
+
+        var counts = new LinkedHashMap<String, Long>();
+        counts.put("total", byStatus.values().stream().mapToLong(Long::longValue).sum());
+        byStatus.forEach((status, count) -> counts.put(status.name().toLowerCase(Locale.ROOT), count));
+
         return ResponseEntity.ok(counts);
     }
 }
@@ -0,0 +1,134 @@
+package com.dynamic.orders.archive;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.repo.OrderCacheInvalidation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access to the cold side of the orders table: {@code orders_archive} and its
+ * per-status row counts ({@code orders_archive_counts}).
+ *
+ * Archived orders are read-only; they are still returned by id lookups, counts
+ * and the export, but not by list, search or by-status endpoints.
+ */
+@Repository
+public class OrderArchive {
+
+    /** Statuses an order never leaves; only these are archived. */
+    public static final Set<OrderStatus> TERMINAL = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private static final String SELECT_COLUMNS = "SELECT id, item, price, status, version FROM orders_archive";
+    private static final String CANDIDATES_SQL =
+            "SELECT id FROM orders WHERE status = ? AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE";
+    private static final String COPY_SQL =
+            "INSERT INTO orders_archive (id, item, price, status, version, updated_at, archived_at) "
+                    + "SELECT id, item, price, status, version, updated_at, :archivedAt FROM orders WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM orders WHERE id IN (:ids)";
+    private static final String BUMP_COUNT_SQL = "UPDATE orders_archive_counts SET total = total + ? WHERE status = ?";
+    private static final String INSERT_COUNT_SQL = "INSERT INTO orders_archive_counts (status, total) VALUES (?, ?)";
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final RowMapper<OrderDto> DTO = (rs, rowNum) -> new OrderDto(
+            rs.getInt("id"),
+            rs.getString("item"),
+            rs.getBigDecimal("price"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final OrderCacheInvalidation cacheInvalidation;
+
+    public OrderArchive(JdbcTemplate jdbc, NamedParameterJdbcTemplate named,
+                        OrderCacheInvalidation cacheInvalidation) {
+        this.jdbc = jdbc;
+        this.named = named;
+        this.cacheInvalidation = cacheInvalidation;
+    }
+
+    public Optional<OrderDto> findById(int id) {
+        return jdbc.query(SELECT_COLUMNS + " WHERE id = ?", DTO, id).stream().findFirst();
+    }
+
+    public List<OrderDto> findAllById(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return named.query(SELECT_COLUMNS + " WHERE id IN (:ids)", Map.of("ids", ids), DTO);
+    }
+
+    /**
+     * Push every archived order, in id order, to the given sink without
+     * materializing the table (same fetch size as OrderRepository.streamAllOrderById).
+     */
+    public void streamAll(Consumer<OrderDto> sink) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_COLUMNS + " ORDER BY id");
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(DTO.mapRow(rs, rs.getRow())));
+    }
+
+    /** Archived orders per terminal status, zero-filled. */
+    public Map<OrderStatus, Long> countsByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        TERMINAL.forEach(status -> counts.put(status, 0L));
+        jdbc.query("SELECT status, total FROM orders_archive_counts",
+                rs -> { counts.put(OrderStatus.valueOf(rs.getString("status")), rs.getLong("total")); });
+        return counts;
+    }
+
+    public long count() {
+        return countsByStatus().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Move up to {@code limit} orders in {@code status} last changed before
+     * {@code cutoff} into the archive, in one transaction. Candidate rows are
+     * locked first, so an order updated concurrently is either moved as last
+     * committed or left alone. Moved orders leave the Hibernate caches when the
+     * transaction completes.
+     *
+     * @return number of orders moved
+     */
+    @Transactional
+    public int moveBatch(OrderStatus status, Instant cutoff, int limit) {
+        List<Integer> ids = jdbc.queryForList(CANDIDATES_SQL, Integer.class,
+                status.name(), Timestamp.from(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        cacheInvalidation.ordersWritten(ids);
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.from(Instant.now()));
+        int copied = named.update(COPY_SQL, params);
+        int deleted = named.update(DELETE_SQL, params);
+        if (copied != deleted) {
+            throw new IllegalStateException("archived " + copied + " rows but deleted " + deleted);
+        }
+        if (jdbc.update(BUMP_COUNT_SQL, deleted, status.name()) == 0) {
+            jdbc.update(INSERT_COUNT_SQL, status.name(), deleted);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,93 @@
+package com.dynamic.orders.archive;
+
+import com.dynamic.orders.api.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Background job moving terminal orders older than {@code orders.archive.min-age-days}
+ * from {@code orders} to {@code orders_archive}.
+ *
+ * Work is split into transactions of {@code orders.archive.batch-size} rows with a
+ * pause of at least {@code orders.archive.pause-ms} (and at least as long as the
+ * previous batch took) between them, so the job uses at most half of one
+ * connection's time; a run stops after {@code orders.archive.max-batches-per-run}
+ * and picks up again on the next schedule.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderArchive archive;
+    private final Duration minAge;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatchesPerRun;
+    private final Counter moved;
+
+    public OrderArchiver(OrderArchive archive, MeterRegistry registry,
+                         @Value("${orders.archive.min-age-days:30}") long minAgeDays,
+                         @Value("${orders.archive.batch-size:500}") int batchSize,
+                         @Value("${orders.archive.pause-ms:200}") long pauseMillis,
+                         @Value("${orders.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.archive = archive;
+        this.minAge = Duration.ofDays(minAgeDays);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.moved = Counter.builder("orders.archive.moved")
+                .description("Orders moved to orders_archive")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.interval-ms:60000}",
+               initialDelayString = "${orders.archive.interval-ms:60000}")
+    public void run() {
+        try {
+            int total = archiveOnce(Instant.now().minus(minAge));
+            if (total > 0) {
+                log.info("Archived {} terminal orders", total);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Order archival run failed; it will be retried on the next schedule", e);
+        }
+    }
+
+    /**
+     * One throttled pass over every terminal status.
+     *
+     * @return number of orders moved
+     */
+    public int archiveOnce(Instant cutoff) throws InterruptedException {
+        int total = 0;
+        int batches = 0;
+        for (OrderStatus status : OrderArchive.TERMINAL) {
+            while (batches < maxBatchesPerRun) {
+                long started = System.nanoTime();
+                int n = archive.moveBatch(status, cutoff, batchSize);
+                batches++;
+                total += n;
+                moved.increment(n);
+                if (n < batchSize) {
+                    break;
+                }
+                long tookMillis = (System.nanoTime() - started) / 1_000_000;
+                Thread.sleep(Math.max(pauseMillis, tookMillis));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,34 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.service.OrderCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Caffeine cache in front of OrderService point reads (see OrderCache).
+ *
+ * Size/TTL come from {@code spring.cache.caffeine.spec}; hit/miss/eviction
+ * metrics are bound by actuator ({@code /actuator/metrics/cache.gets}).
+ * Set {@code orders.cache.enabled=false} to turn caching off entirely.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+// no @Cacheable left; still enables Boot's CacheManager, its metrics and /actuator/caches
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDERS_BY_ID = "ordersById";
+
+    @Bean
+    public OrderCache orderCache(CacheManager cacheManager) {
+        if (!(cacheManager.getCache(ORDERS_BY_ID) instanceof CaffeineCache cache)) {
+            throw new IllegalStateException(
+                    "Cache " + ORDERS_BY_ID + " must be a Caffeine cache (spring.cache.type=caffeine)");
+        }
+        return new OrderCache(cache.getNativeCache());
+    }
+}
@@ -0,0 +1,102 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.limit.AimdLimiter;
+import com.dynamic.orders.limit.ConcurrencyLimitFilter;
+import com.dynamic.orders.limit.EndpointGroup;
+import com.dynamic.orders.limit.LimitsEndpoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Adaptive per-endpoint-group concurrency limits (see ConcurrencyLimitFilter),
+ * on unless {@code orders.limits.enabled=false}. Each group is tuned with
+ * {@code orders.limits.<group>.initial / min / max / latency-threshold / backoff-ratio}.
+ *
+ * State is served at {@code /actuator/limits} and published as
+ * {@code orders.limit.limit{group}}, {@code orders.limit.inflight{group}} and
+ * {@code orders.limit.requests{group, outcome=accepted|rejected|dropped}}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /** Limit bounds of one group; a call slower than latencyThreshold counts as overload. */
+    public record Group(@DefaultValue("20") int initial,
+                        @DefaultValue("1") int min,
+                        @DefaultValue("200") int max,
+                        @DefaultValue("250ms") Duration latencyThreshold,
+                        @DefaultValue("0.9") double backoffRatio) {
+
+        AimdLimiter.Settings settings() {
+            return new AimdLimiter.Settings(initial, min, max, latencyThreshold, backoffRatio);
+        }
+    }
+
+    @Bean
+    public Map<EndpointGroup, AimdLimiter> endpointLimiters(Environment env) {
+        Binder binder = Binder.get(env);
+        Map<EndpointGroup, AimdLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            Group settings = binder.bindOrCreate("orders.limits." + group.key(), Group.class);
+            limiters.put(group, new AimdLimiter(settings.settings()));
+        }
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            Map<EndpointGroup, AimdLimiter> endpointLimiters) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(endpointLimiters));
+        // before any filter that does work for the request: rejections should cost nothing
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public LimitsEndpoint limitsEndpoint(Map<EndpointGroup, AimdLimiter> endpointLimiters) {
+        return new LimitsEndpoint(endpointLimiters);
+    }
+
+    @Bean
+    public MeterBinder endpointLimiterMetrics(Map<EndpointGroup, AimdLimiter> endpointLimiters) {
+        return registry -> endpointLimiters.forEach((group, limiter) -> {
+            Gauge.builder("orders.limit.limit", limiter, AimdLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group.key())
+                    .register(registry);
+            Gauge.builder("orders.limit.inflight", limiter, AimdLimiter::inFlight)
+                    .description("Requests currently admitted")
+                    .tag("group", group.key())
+                    .register(registry);
+            requests(registry, group, "accepted", limiter, AimdLimiter.Snapshot::accepted);
+            requests(registry, group, "rejected", limiter, AimdLimiter.Snapshot::rejected);
+            requests(registry, group, "dropped", limiter, AimdLimiter.Snapshot::dropped);
+        });
+    }
+
+    private static void requests(MeterRegistry registry, EndpointGroup group, String outcome, AimdLimiter limiter,
+                                 ToLongFunction<AimdLimiter.Snapshot> count) {
+        FunctionCounter.builder("orders.limit.requests", limiter, l -> count.applyAsLong(l.snapshot()))
+                .description("Requests by limiter outcome; dropped were admitted but failed or 5xx")
+                .tag("group", group.key())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -1,7 +1,9 @@
 package com.dynamic.orders.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -10,7 +12,7 @@ import org.springframework.web.filter.CorsFilter;
 public class CorsConfig {
 
   @Bean
-  public CorsFilter corsFilter() {
+  public FilterRegistrationBean<CorsFilter> corsFilter() {
     CorsConfiguration cfg = new CorsConfiguration();
     // dev origins — add/remove as needed
     cfg.addAllowedOrigin("http://localhost:4011"); // React Orders UI
@@ -19,9 +21,14 @@ public class CorsConfig {
     cfg.addAllowedHeader("*");
     cfg.addAllowedMethod("*");
     cfg.setAllowCredentials(true);
+    cfg.addExposedHeader("Retry-After"); // not CORS-safelisted: scripts could not read it otherwise
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
     source.registerCorsConfiguration("/**", cfg);
-    return new CorsFilter(source);
+    FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+    // first, ahead of the concurrency limits: a shed 503 still needs CORS headers for the
+    // browser to expose its status and Retry-After
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
   }
 }
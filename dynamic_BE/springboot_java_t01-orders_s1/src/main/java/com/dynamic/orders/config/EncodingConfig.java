@@ -0,0 +1,31 @@
+package com.dynamic.orders.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary response encodings chosen by {@code Accept}: Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}).
+ *
+ * Both mappers come from Boot's Jackson builder, so they share the JSON mapper's
+ * settings; the beans replace Spring MVC's default Smile/CBOR converters in
+ * place, after JSON, so {@code Accept: *}{@code /*} keeps getting JSON.
+ */
+@Configuration
+public class EncodingConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
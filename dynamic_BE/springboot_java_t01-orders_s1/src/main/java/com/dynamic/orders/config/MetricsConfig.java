@@ -0,0 +1,22 @@
+package com.dynamic.orders.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on Spring beans (OrderService is timed as
+ * {@code orders.service}, tagged by class and method).
+ *
+ * Everything else on /actuator/prometheus comes from Boot auto-configuration:
+ * http.server.requests, hikaricp.*, hibernate.* and cache.* meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
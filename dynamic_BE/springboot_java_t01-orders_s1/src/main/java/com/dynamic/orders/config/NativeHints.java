@@ -0,0 +1,50 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reachability hints for the GraalVM native image ({@code ./gradlew nativeCompile -Pnative})
+ * beyond what Spring AOT and the GraalVM metadata repository already infer:
+ * <ul>
+ *   <li>Flyway migrations: Boot registers {@code db/migration} only, not the per-vendor
+ *       {@code db/vendor/{vendor}} location;</li>
+ *   <li>the Caffeine JCache provider's {@code reference.conf} (Hibernate L2 cache regions);</li>
+ *   <li>the JDK proxies datasource-proxy puts around JDBC objects for the SQL profiler;</li>
+ *   <li>Jackson binding for types serialized outside controllers (outbox payloads, idempotency
+ *       replays, change events).</li>
+ * </ul>
+ * Ignored on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHints.Resources.class)
+@RegisterReflectionForBinding({OrderDto.class, OrderChangeEvent.class})
+public class NativeHints {
+
+    static class Resources implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("db/migration/*.sql")
+                    .registerPattern("db/vendor/*/*.sql")
+                    .registerPattern("reference.conf");
+            for (Class<?> jdbc : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class)) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbc);
+            }
+        }
+    }
+}
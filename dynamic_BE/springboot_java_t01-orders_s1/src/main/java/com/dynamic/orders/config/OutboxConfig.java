@@ -0,0 +1,42 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.outbox.FileOrderEventSink;
+import com.dynamic.orders.outbox.InMemoryOrderEventSink;
+import com.dynamic.orders.outbox.LogOrderEventSink;
+import com.dynamic.orders.outbox.OrderEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Order change events: OrderService writes them to the outbox table, OutboxRelay
+ * drains them to the sink picked by {@code orders.outbox.sink-type} (log | file | memory).
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.outbox.sink-type", havingValue = "log", matchIfMissing = true)
+    public OrderEventSink logOrderEventSink(ObjectMapper objectMapper) {
+        return new LogOrderEventSink(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.outbox.sink-type", havingValue = "file")
+    public OrderEventSink fileOrderEventSink(ObjectMapper objectMapper,
+                                             @Value("${orders.outbox.file-path:order-events.ndjson}") Path file) {
+        return new FileOrderEventSink(file, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.outbox.sink-type", havingValue = "memory")
+    public InMemoryOrderEventSink inMemoryOrderEventSink() {
+        return new InMemoryOrderEventSink();
+    }
+}
@@ -0,0 +1,100 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.datasource.ReadYourWritesFilter;
+import com.dynamic.orders.datasource.ReplicaHealthIndicator;
+import com.dynamic.orders.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica routing, on with {@code orders.datasource.replica.enabled=true}.
+ *
+ * The application DataSource becomes a {@link LazyConnectionDataSourceProxy} over
+ * the primary pool ({@code spring.datasource.*}): the physical connection is only
+ * fetched at the first statement, after the transaction manager has flagged it
+ * read-only, so {@code @Transactional(readOnly = true)} work is served by
+ * {@link ReplicaRoutingDataSource} ({@code orders.datasource.replica.*}) and
+ * everything else, including Flyway, by the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProps, Environment env,
+                                                             MeterRegistry registry) {
+        HikariDataSource primary = primaryProps.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("orders-primary");
+        }
+
+        HikariDataSource replica = new HikariDataSource();
+        Binder.get(env).bind("orders.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setJdbcUrl(env.getRequiredProperty("orders.datasource.replica.url"));
+        replica.setUsername(env.getProperty("orders.datasource.replica.username", primaryProps.determineUsername()));
+        replica.setPassword(env.getProperty("orders.datasource.replica.password", primaryProps.determinePassword()));
+        replica.setReadOnly(true);
+        if (replica.getPoolName() == null) {
+            replica.setPoolName("orders-replica");
+        }
+        // Boot only instruments the application DataSource (the primary, through the proxy)
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        // start even if the replica is down; reads fall back to the primary
+        replica.setInitializationFailTimeout(-1);
+
+        return new ReplicaRoutingDataSource(primary, replica, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing.primary());
+        proxy.setReadOnlyDataSource(routing);
+        return proxy;
+    }
+
+    @Bean
+    public ReplicaHealthIndicator replicaHealthIndicator(ReplicaRoutingDataSource routing,
+            @Value("${orders.datasource.replica.health-check-timeout-s:2}") int timeoutSeconds) {
+        return new ReplicaHealthIndicator(routing, timeoutSeconds);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${orders.datasource.replica.read-your-writes-ms:0}") long windowMillis) {
+        return new ReadYourWritesFilter(windowMillis);
+    }
+
+    /**
+     * Local/test setups with two independent databases (no replication) can run
+     * the same migrations on the replica; a real replica receives them from the primary.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "orders.datasource.replica.migrate", havingValue = "true")
+    public FlywayMigrationStrategy replicaMigrationStrategy(ReplicaRoutingDataSource routing) {
+        return flyway -> {
+            flyway.migrate();
+            Flyway.configure()
+                  .configuration(flyway.getConfiguration())
+                  .dataSource(routing.replica())
+                  .load()
+                  .migrate();
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.model.OrderEntity;
+import com.dynamic.orders.repo.CachedQuery;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for OrderEntity and query cache for the
+ * {@link CachedQuery} repository methods, on unless {@code orders.l2cache.enabled=false}
+ * or the read replica is on ({@code orders.datasource.replica.enabled}): Hibernate
+ * fills these caches from whatever connection the read used, so a lagging replica
+ * row would outlive the write's invalidation, and a read-your-writes request would
+ * be answered from the cache before routing ever picks the primary.
+ *
+ * Regions are caches in an embedded Caffeine JCache manager created here, each
+ * sized from {@code orders.l2cache.regions.<region>.max-size} / {@code .ttl};
+ * Hibernate fails at startup if it needs a region that was not created. The
+ * update-timestamps region is never bounded or expired: losing an entry there
+ * would let stale query results through.
+ *
+ * JPA writes (OrderService.update/delete) invalidate the caches through
+ * Hibernate; JDBC writes through OrderCacheInvalidation. Caches are per
+ * instance, so rows changed by other instances or the reactive service are
+ * only seen once the cached entry's TTL runs out.
+ *
+ * Hits/misses/puts per region come from Boot's Hibernate metrics
+ * ({@code hibernate.second.level.cache.requests}); the hit ratio of each region
+ * is published as {@code orders.l2cache.hit.ratio{region}}.
+ */
+@Configuration
+@ConditionalOnExpression("${orders.l2cache.enabled:true} and !${orders.datasource.replica.enabled:false}")
+public class SecondLevelCacheConfig {
+
+    /** Size bound and time-to-live (from write) of one region; no ttl means no expiry. */
+    public record Region(@DefaultValue("1000") long maxSize, Duration ttl) {}
+
+    private static final Region DEFAULT_REGION = new Region(1000, null);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment env) {
+        Map<String, Region> regions = new LinkedHashMap<>();
+        regions.put(OrderEntity.CACHE_REGION, DEFAULT_REGION);
+        regions.put(CachedQuery.REGION, DEFAULT_REGION);
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, DEFAULT_REGION);
+        Binder.get(env).bind("orders.l2cache.regions", Bindable.mapOf(String.class, Region.class))
+                .ifBound(regions::putAll);
+
+        // a manager of our own (unique URI): test and benchmark contexts may run side by side
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("orders-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        regions.forEach((name, region) -> manager.createCache(name, configuration(region)));
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheSettings(CacheManager hibernateCacheManager) {
+        return settings -> {
+            settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            settings.put(AvailableSettings.USE_QUERY_CACHE, true);
+            settings.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            settings.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            settings.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            settings.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory emf, CacheManager hibernateCacheManager) {
+        return registry -> {
+            Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                if (region.equals(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+                    continue;
+                }
+                Gauge.builder("orders.l2cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("Hibernate cache hits / (hits + misses) since startup")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(Region region) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        // Hibernate stores immutable disassembled state; no need to copy on every get/put
+        config.setStoreByValue(false);
+        config.setMaximumSize(OptionalLong.of(region.maxSize()));
+        if (region.ttl() != null) {
+            config.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+        }
+        return config;
+    }
+
+    private static double hitRatio(Statistics stats, String region) {
+        CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+        if (regionStats == null) {
+            return Double.NaN;
+        }
+        long hits = regionStats.getHitCount();
+        long total = hits + regionStats.getMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.sqlprofile.SqlProfileEndpoint;
+import com.dynamic.orders.sqlprofile.SqlProfiler;
+import com.dynamic.orders.sqlprofile.SqlProfilingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request SQL profiler (see SqlProfiler), on unless
+ * {@code orders.sql-profiler.enabled=false}. The application DataSource (the
+ * {@code dataSource} bean, also the read-replica proxy when that is on) is
+ * wrapped in a datasource-proxy whose listener times every statement.
+ *
+ * Tuned with {@code orders.sql-profiler.sample-rate} (share of requests counted
+ * in full), {@code slow-threshold-ms}, {@code repeat-threshold} (executions of one
+ * SQL text in one request that count as N+1) and {@code recent} (findings kept for
+ * {@code /actuator/sqlprofile}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilerConfig {
+
+    @Bean
+    public SqlProfiler sqlProfiler(MeterRegistry registry,
+            @Value("${orders.sql-profiler.sample-rate:0.05}") double sampleRate,
+            @Value("${orders.sql-profiler.slow-threshold-ms:200}") long slowThresholdMillis,
+            @Value("${orders.sql-profiler.repeat-threshold:5}") int repeatThreshold,
+            @Value("${orders.sql-profiler.recent:50}") int recent,
+            @Value("${orders.sql-profiler.show-binds:false}") boolean showBinds) {
+        return new SqlProfiler(new SqlProfiler.Settings(sampleRate, Duration.ofMillis(slowThresholdMillis),
+                repeatThreshold, recent, showBinds), registry);
+    }
+
+    /** Static and lazy on the profiler, so the MeterRegistry is not created during post-processor setup. */
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSource(ObjectProvider<SqlProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name("orders")
+                        .listener(profiler.getObject())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        // after the concurrency limits: shed requests never reach the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlProfiler sqlProfiler) {
+        return new SqlProfileEndpoint(sqlProfiler);
+    }
+}
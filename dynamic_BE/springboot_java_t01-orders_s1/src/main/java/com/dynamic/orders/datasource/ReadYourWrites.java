@@ -0,0 +1,58 @@
+package com.dynamic.orders.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request flag that sends read-only transactions to the primary, so a client
+ * reads its own writes while the replica may still lag. Set by
+ * {@link ReadYourWritesFilter}; only meaningful on the request thread.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {}
+
+    /** Mutable per-request state; {@code pinned} flips once a write commits. */
+    static final class Scope {
+        volatile boolean pinned;
+    }
+
+    public static boolean isPinned() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.pinned;
+    }
+
+    /**
+     * Run {@code read} pinned to the primary, whatever the request's state; used to
+     * fill caches, which must not keep a lagging replica row after an eviction.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Scope previous = CURRENT.get();
+        open(true);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                close();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static Scope open(boolean pinned) {
+        Scope scope = new Scope();
+        scope.pinned = pinned;
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package com.dynamic.orders.datasource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Probes the read replica every {@code orders.datasource.replica.health-check-ms}
+ * and reports its state under {@code /actuator/health}. A down replica is
+ * reported as UP with {@code reads=primary}: the service keeps working on the
+ * primary, so it must not fail liveness/readiness.
+ */
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaRoutingDataSource routing;
+    private final int timeoutSeconds;
+
+    public ReplicaHealthIndicator(ReplicaRoutingDataSource routing, int timeoutSeconds) {
+        this.routing = routing;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.datasource.replica.health-check-ms:5000}")
+    public void probe() {
+        routing.check(timeoutSeconds);
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up()
+                .withDetail("pool", routing.replica().getPoolName())
+                .withDetail("replica", routing.isReplicaUp() ? "UP" : "DOWN")
+                .withDetail("reads", routing.isReplicaUp() ? "replica" : "primary");
+        if (routing.lastError() != null) {
+            health.withDetail("error", routing.lastError());
+        }
+        return health.build();
+    }
+}
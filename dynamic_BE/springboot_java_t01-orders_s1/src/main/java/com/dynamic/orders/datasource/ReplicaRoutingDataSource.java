@@ -0,0 +1,115 @@
+package com.dynamic.orders.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection source for read-only transactions: the replica pool while it is
+ * healthy, the primary pool otherwise or while the current request is pinned
+ * by {@link ReadYourWrites}.
+ *
+ * A failure to get a replica connection marks the replica down immediately and
+ * the read is served from the primary; {@link ReplicaHealthIndicator} brings it
+ * back once a probe succeeds. Owns (and closes) both pools.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private volatile boolean replicaUp = true;
+    private volatile String lastError;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaReads = readCounter(registry, "replica");
+        this.primaryReads = readCounter(registry, "primary");
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public HikariDataSource replica() {
+        return replica;
+    }
+
+    public boolean isReplicaUp() {
+        return replicaUp;
+    }
+
+    public String lastError() {
+        return lastError;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaUp && !ReadYourWrites.isPinned()) {
+            try {
+                Connection con = replica.getConnection();
+                replicaReads.increment();
+                return con;
+            } catch (SQLException e) {
+                markDown(e);
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Pooled connections only");
+    }
+
+    /** Probe the replica and update its state; returns the new state. */
+    public boolean check(int timeoutSeconds) {
+        try (Connection con = replica.getConnection()) {
+            if (!con.isValid(timeoutSeconds)) {
+                throw new SQLException("Connection.isValid returned false");
+            }
+            if (!replicaUp) {
+                log.info("Read replica {} is back; routing read-only transactions to it", replica.getPoolName());
+            }
+            replicaUp = true;
+            lastError = null;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+        return replicaUp;
+    }
+
+    public void markDown(Exception cause) {
+        if (replicaUp) {
+            log.warn("Read replica {} unavailable; reading from the primary until it recovers: {}",
+                    replica.getPoolName(), cause.toString());
+        }
+        replicaUp = false;
+        lastError = cause.toString();
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("orders.datasource.reads")
+                .description("Connections handed to read-only transactions")
+                .tag("target", target)
+                .register(registry);
+    }
+}
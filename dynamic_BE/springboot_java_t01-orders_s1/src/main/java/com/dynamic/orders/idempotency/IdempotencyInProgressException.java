@@ -0,0 +1,12 @@
+package com.dynamic.orders.idempotency;
+
+/**
+ * Thrown when a request with the same Idempotency-Key is still being processed
+ * and did not finish within {@code orders.idempotency.wait-ms}.
+ */
+public class IdempotencyInProgressException extends RuntimeException {
+
+    public IdempotencyInProgressException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress; retry later");
+    }
+}
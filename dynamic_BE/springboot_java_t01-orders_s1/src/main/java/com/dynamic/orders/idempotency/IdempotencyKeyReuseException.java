@@ -0,0 +1,12 @@
+package com.dynamic.orders.idempotency;
+
+/**
+ * Thrown when an Idempotency-Key that already produced an order is sent again
+ * with a different request body.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
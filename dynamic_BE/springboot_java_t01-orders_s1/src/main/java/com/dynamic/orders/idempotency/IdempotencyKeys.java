@@ -0,0 +1,69 @@
+package com.dynamic.orders.idempotency;
+
+import com.dynamic.orders.api.OrderDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code order_idempotency_keys}: one row per Idempotency-Key with
+ * the hash of the request that claimed it and the OrderDto it produced.
+ */
+@Repository
+public class IdempotencyKeys {
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyKeys(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Completed entry for the key, if any. */
+    public Optional<StoredResponse> find(String key) {
+        return jdbc.query(
+                "SELECT request_hash, response FROM order_idempotency_keys WHERE idem_key = ? AND response IS NOT NULL",
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"), read(rs.getString("response"))),
+                key).stream().findFirst();
+    }
+
+    /**
+     * Claim the key; throws DuplicateKeyException if another request holds it.
+     * Must run in the transaction that creates the order.
+     */
+    public void claim(String key, String requestHash) {
+        jdbc.update("INSERT INTO order_idempotency_keys (idem_key, request_hash, created_at) VALUES (?, ?, ?)",
+                key, requestHash, Timestamp.from(Instant.now()));
+    }
+
+    public void complete(String key, OrderDto order) {
+        jdbc.update("UPDATE order_idempotency_keys SET order_id = ?, response = ? WHERE idem_key = ?",
+                order.id(), write(order), key);
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbc.update("DELETE FROM order_idempotency_keys WHERE created_at < ?", Timestamp.from(cutoff));
+    }
+
+    private String write(OrderDto order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order " + order.id(), e);
+        }
+    }
+
+    private OrderDto read(String json) {
+        try {
+            return objectMapper.readValue(json, OrderDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt idempotency response: " + json, e);
+        }
+    }
+}
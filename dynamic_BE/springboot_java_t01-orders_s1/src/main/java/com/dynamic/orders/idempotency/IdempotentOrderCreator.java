@@ -0,0 +1,165 @@
+package com.dynamic.orders.idempotency;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.service.InvalidRequestException;
+import com.dynamic.orders.service.OrderService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * POST /api/v1/orders with an Idempotency-Key: the first request creates the
+ * order, retries get the same OrderDto back without touching the orders table.
+ *
+ * Lookups go through a bounded in-memory cache in front of
+ * {@code order_idempotency_keys}. Concurrent requests with one key are collapsed
+ * in-process (followers wait for the leader's result); across instances the key
+ * row, inserted in the order's transaction, makes the loser wait on the primary
+ * key and then replay the winner's response.
+ */
+@Service
+public class IdempotentOrderCreator {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orders;
+    private final IdempotencyKeys keys;
+    private final TransactionTemplate tx;
+    private final Cache<String, StoredResponse> cache;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final long waitMillis;
+
+    /** Outcome of a create: {@code replayed} is true when an earlier request made the order. */
+    public record Result(OrderDto order, boolean replayed) {}
+
+    public IdempotentOrderCreator(OrderService orders, IdempotencyKeys keys, PlatformTransactionManager txManager,
+                                  @Value("${orders.idempotency.cache-size:10000}") long cacheSize,
+                                  @Value("${orders.idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${orders.idempotency.wait-ms:10000}") long waitMillis) {
+        this.orders = orders;
+        this.keys = keys;
+        this.tx = new TransactionTemplate(txManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitMillis = waitMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Result create(String key, CreateOrderRequest req) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be 1.." + MAX_KEY_LENGTH + " characters");
+        }
+        String hash = hash(req);
+
+        StoredResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, hash, cached);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            return replay(key, hash, await(key, leader));
+        }
+        try {
+            Result result = createOrReplay(key, hash, req);
+            StoredResponse stored = new StoredResponse(hash, result.order());
+            if (!result.replayed()) {
+                cache.put(key, stored);
+            }
+            mine.complete(stored);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.cleanup-ms:600000}")
+    public void expireKeys() {
+        keys.deleteOlderThan(Instant.now().minus(ttl));
+    }
+
+    private Result createOrReplay(String key, String hash, CreateOrderRequest req) {
+        var stored = keys.find(key);
+        if (stored.isPresent()) {
+            cache.put(key, stored.get());
+            return replay(key, hash, stored.get());
+        }
+        try {
+            OrderDto created = tx.execute(status -> {
+                keys.claim(key, hash);
+                OrderDto order = orders.create(req);
+                keys.complete(key, order);
+                return order;
+            });
+            return new Result(created, false);
+        } catch (DuplicateKeyException e) {
+            // another instance committed this key first; its row is visible now
+            StoredResponse winner = keys.find(key).orElseThrow(() -> new IdempotencyInProgressException(key));
+            cache.put(key, winner);
+            return replay(key, hash, winner);
+        }
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> leader) {
+        try {
+            return leader.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyInProgressException(key);
+        } catch (ExecutionException e) {
+            // the leader failed and nothing was stored; let the client retry the key
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Result replay(String key, String hash, StoredResponse stored) {
+        if (!stored.requestHash().equals(hash)) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        return new Result(stored.order(), true);
+    }
+
+    /** SHA-256 over the fields that define the order; 1.0 and 1.00 are the same price. */
+    static String hash(CreateOrderRequest req) {
+        BigDecimal price = req.price() == null ? null : req.price().stripTrailingZeros();
+        String canonical = req.item() + '\u0000' + (price == null ? "" : price.toPlainString());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
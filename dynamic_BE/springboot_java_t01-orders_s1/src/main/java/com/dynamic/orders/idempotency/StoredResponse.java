@@ -0,0 +1,6 @@
+package com.dynamic.orders.idempotency;
+
+import com.dynamic.orders.api.OrderDto;
+
+/** What a completed Idempotency-Key maps to. */
+public record StoredResponse(String requestHash, OrderDto order) {}
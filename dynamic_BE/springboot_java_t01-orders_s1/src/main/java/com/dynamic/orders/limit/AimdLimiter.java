@@ -0,0 +1,114 @@
+package com.dynamic.orders.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency (additive increase,
+ * multiplicative decrease): every call slower than {@code latencyThreshold}, or
+ * failed, cuts the limit by {@code backoffRatio}; every fast call made while at
+ * least half the limit was in use raises it by one. The limit stays within
+ * [{@code min}, {@code max}].
+ *
+ * {@link #tryAcquire()} never waits: callers over the limit are turned away at once.
+ */
+public class AimdLimiter {
+
+    /** Bounds and latency target of one limiter. */
+    public record Settings(int initial, int min, int max, Duration latencyThreshold, double backoffRatio) {}
+
+    /** One admitted call; report how it went exactly once. */
+    public interface Permit {
+        void onSuccess();
+
+        /** The call failed in a way that suggests overload (5xx, timeout). */
+        void onDropped();
+    }
+
+    /** Point-in-time view for the actuator endpoint. */
+    public record Snapshot(int limit, int inFlight, long accepted, long rejected, long dropped,
+                           int min, int max, long latencyThresholdMs) {}
+
+    private final Settings settings;
+    private final long thresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // fractional so repeated backoffs from a small limit still make progress
+    private double limit;
+    private volatile int admit;
+
+    public AimdLimiter(Settings settings) {
+        if (settings.min() < 1 || settings.max() < settings.min()) {
+            throw new IllegalArgumentException("limit bounds must satisfy 1 <= min <= max: " + settings);
+        }
+        this.settings = settings;
+        this.thresholdNanos = settings.latencyThreshold().toNanos();
+        this.limit = Math.clamp(settings.initial(), settings.min(), settings.max());
+        this.admit = (int) limit;
+    }
+
+    /** @return a permit, or null when the limit is reached */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= admit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return new CallPermit(current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    public int limit() {
+        return admit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(admit, inFlight.get(), accepted.sum(), rejected.sum(), dropped.sum(),
+                settings.min(), settings.max(), settings.latencyThreshold().toMillis());
+    }
+
+    private synchronized void adjust(boolean overloaded, int inFlightAtStart) {
+        if (overloaded) {
+            limit = Math.max(settings.min(), limit * settings.backoffRatio());
+        } else if (inFlightAtStart * 2 >= limit) {
+            // only grow while the limit is actually being used
+            limit = Math.min(settings.max(), limit + 1);
+        }
+        admit = (int) limit;
+    }
+
+    private final class CallPermit implements Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+
+        CallPermit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onSuccess() {
+            inFlight.decrementAndGet();
+            adjust(System.nanoTime() - startNanos > thresholdNanos, inFlightAtStart);
+        }
+
+        @Override
+        public void onDropped() {
+            inFlight.decrementAndGet();
+            dropped.increment();
+            adjust(true, inFlightAtStart);
+        }
+    }
+}
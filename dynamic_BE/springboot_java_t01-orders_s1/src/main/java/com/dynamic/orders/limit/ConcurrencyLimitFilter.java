@@ -0,0 +1,64 @@
+package com.dynamic.orders.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bulkheads for OrdersController: each {@link EndpointGroup} gets its own
+ * {@link AimdLimiter}, so a burst of scans cannot take the threads and
+ * connections point reads need. A request over its group's limit is answered
+ * at once with {@code 503} and {@code Retry-After} instead of queueing behind
+ * the others. Responses of 5xx and exceptions count as overload and shrink the
+ * limit like slow responses do.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointGroup, AimdLimiter> limiters;
+
+    public ConcurrencyLimitFilter(Map<EndpointGroup, AimdLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        AimdLimiter limiter = group == null ? null : limiters.get(group);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AimdLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(response, group);
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = response.getStatus() < 500;
+        } finally {
+            if (completed) {
+                permit.onSuccess();
+            } else {
+                permit.onDropped();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, EndpointGroup group) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many concurrent " + group.key() + " requests; retry later\"}");
+    }
+}
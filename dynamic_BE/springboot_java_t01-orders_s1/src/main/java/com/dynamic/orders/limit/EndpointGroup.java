@@ -0,0 +1,60 @@
+package com.dynamic.orders.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * OrdersController endpoints grouped by cost profile, one concurrency limit each.
+ * Health checks and the long-lived responses ({@code /stream}, {@code /export})
+ * belong to no group and are never limited.
+ */
+public enum EndpointGroup {
+
+    /** {@code GET /{id}}, multi-get ({@code ?ids=}, {@code POST /lookup}): primary-key lookups. */
+    POINT_READ("point-read"),
+    /** List, status and search pages and {@code /count}: range and full scans. */
+    SCAN("scan"),
+    /** Create, batch create, update, delete. */
+    WRITE("write");
+
+    private static final String BASE = "/api/v1/orders";
+
+    private final String key;
+
+    EndpointGroup(String key) {
+        this.key = key;
+    }
+
+    /** Property and tag name, e.g. {@code orders.limits.point-read.max}. */
+    public String key() {
+        return key;
+    }
+
+    /** @return the group of an OrdersController request, or null when it is not limited */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(BASE)) {
+            return null;
+        }
+        String rest = path.substring(BASE.length());
+        if (!rest.isEmpty() && !rest.startsWith("/")) {
+            return null;
+        }
+        if (rest.equals("/health") || rest.equals("/stream") || rest.equals("/export")) {
+            return null;
+        }
+        return switch (request.getMethod()) {
+            case "GET" -> isPointRead(rest, request) ? POINT_READ : SCAN;
+            case "POST" -> rest.equals("/lookup") ? POINT_READ : WRITE;
+            case "PUT", "PATCH", "DELETE" -> WRITE;
+            default -> null;
+        };
+    }
+
+    private static boolean isPointRead(String rest, HttpServletRequest request) {
+        if (rest.isEmpty() || rest.equals("/")) {
+            return request.getParameter("ids") != null;
+        }
+        // one segment that no scan endpoint uses: /{id}
+        return rest.indexOf('/', 1) < 0 && !rest.equals("/search") && !rest.equals("/count");
+    }
+}
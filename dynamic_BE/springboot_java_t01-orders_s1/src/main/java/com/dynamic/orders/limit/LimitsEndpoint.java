@@ -0,0 +1,28 @@
+package com.dynamic.orders.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/limits}: current limit, in-flight calls and admitted /
+ * rejected / dropped totals of every endpoint group.
+ */
+@Endpoint(id = "limits")
+public class LimitsEndpoint {
+
+    private final Map<EndpointGroup, AimdLimiter> limiters;
+
+    public LimitsEndpoint(Map<EndpointGroup, AimdLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @ReadOperation
+    public Map<String, AimdLimiter.Snapshot> limits() {
+        Map<String, AimdLimiter.Snapshot> snapshots = new LinkedHashMap<>();
+        limiters.forEach((group, limiter) -> snapshots.put(group.key(), limiter.snapshot()));
+        return snapshots;
+    }
+}
@@ -22,7 +22,8 @@ public class OrderMapper {
             entity.getId(),
             entity.getItem(),
             entity.getPrice(),
-            entity.getStatus()
+            entity.getStatus(),
+            entity.getVersion()
         );
     }
 
@@ -39,6 +40,7 @@ public class OrderMapper {
         entity.setItem(dto.item());
         entity.setPrice(dto.price());
         entity.setStatus(dto.status());
+        entity.setVersion(dto.version());
         
         return entity;
     }
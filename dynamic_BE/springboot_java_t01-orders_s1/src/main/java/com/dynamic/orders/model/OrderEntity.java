@@ -2,11 +2,19 @@ package com.dynamic.orders.model;
 
 import com.dynamic.orders.api.OrderStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "orders")
+// second-level cache region, sized in orders.l2cache.regions.orders (see SecondLevelCacheConfig)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = OrderEntity.CACHE_REGION)
 public class OrderEntity {
+
+    public static final String CACHE_REGION = "orders";
+
     @Id 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -21,6 +29,11 @@ public class OrderEntity {
     @Column(nullable = false, length = 20)
     private OrderStatus status;
 
+    // Optimistic lock: bumped by Hibernate on every UPDATE, checked in its WHERE clause
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Default constructor (required by JPA)
     public OrderEntity() {}
 
@@ -64,6 +77,14 @@ public class OrderEntity {
         this.status = status; 
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "OrderEntity{" +
@@ -71,6 +92,7 @@ public class OrderEntity {
                 ", item='" + item + '\'' +
                 ", price=" + price +
                 ", status=" + status +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
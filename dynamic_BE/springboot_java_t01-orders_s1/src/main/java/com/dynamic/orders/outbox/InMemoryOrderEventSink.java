@@ -0,0 +1,26 @@
+package com.dynamic.orders.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps published events in memory; meant for tests and local experiments.
+ */
+public class InMemoryOrderEventSink implements OrderEventSink {
+
+    private final List<OrderChangeEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OrderChangeEvent> batch) {
+        events.addAll(batch);
+    }
+
+    /** Snapshot of everything published so far, in publish order. */
+    public synchronized List<OrderChangeEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
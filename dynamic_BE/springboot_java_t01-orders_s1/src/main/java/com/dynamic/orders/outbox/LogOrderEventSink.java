@@ -0,0 +1,29 @@
+package com.dynamic.orders.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Writes each event as one JSON log line on the {@code orders.events} logger,
+ * which can be routed to its own appender/file through logging config.
+ */
+public class LogOrderEventSink implements OrderEventSink {
+
+    private static final Logger events = LoggerFactory.getLogger("orders.events");
+
+    private final ObjectMapper objectMapper;
+
+    public LogOrderEventSink(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OrderChangeEvent> batch) throws Exception {
+        for (OrderChangeEvent event : batch) {
+            events.info(objectMapper.writeValueAsString(event));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dynamic.orders.outbox;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * One committed change to an order, as delivered to an {@link OrderEventSink}.
+ *
+ * {@code order} is the state after the change (the last known state for DELETED);
+ * {@code previousStatus} is only set for UPDATED events. Delivery is at-least-once,
+ * so consumers should de-duplicate on {@code eventId} or on the order's version.
+ */
+public record OrderChangeEvent(
+        Long eventId,
+        OrderEventType type,
+        int orderId,
+        OrderStatus previousStatus,
+        OrderDto order,
+        Instant occurredAt
+) {
+
+    public static OrderChangeEvent created(OrderDto order) {
+        return new OrderChangeEvent(null, OrderEventType.CREATED, order.id(), null, order, Instant.now());
+    }
+
+    public static OrderChangeEvent updated(OrderStatus previousStatus, OrderDto order) {
+        return new OrderChangeEvent(null, OrderEventType.UPDATED, order.id(), previousStatus, order, Instant.now());
+    }
+
+    public static OrderChangeEvent deleted(OrderDto lastState) {
+        return new OrderChangeEvent(null, OrderEventType.DELETED, lastState.id(), null, lastState, Instant.now());
+    }
+
+    /** True for updates that moved the order to a different status. */
+    public boolean isStatusTransition() {
+        return type == OrderEventType.UPDATED && previousStatus != order.status();
+    }
+}
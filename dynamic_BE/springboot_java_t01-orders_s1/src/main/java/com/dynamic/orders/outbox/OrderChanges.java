@@ -0,0 +1,9 @@
+package com.dynamic.orders.outbox;
+
+import java.util.List;
+
+/**
+ * Application event carrying the change events of one OrderService call, for
+ * in-process listeners that react after commit (e.g. the SSE change feed).
+ */
+public record OrderChanges(List<OrderChangeEvent> events) {}
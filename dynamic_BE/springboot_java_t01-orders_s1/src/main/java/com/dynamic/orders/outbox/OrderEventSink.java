@@ -0,0 +1,14 @@
+package com.dynamic.orders.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for order change events drained from the outbox.
+ *
+ * {@link #publish} must only return once the whole batch is durably accepted;
+ * throwing leaves the batch in the outbox to be retried (at-least-once).
+ */
+public interface OrderEventSink {
+
+    void publish(List<OrderChangeEvent> batch) throws Exception;
+}
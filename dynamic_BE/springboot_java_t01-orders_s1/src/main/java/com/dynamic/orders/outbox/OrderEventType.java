@@ -0,0 +1,7 @@
+package com.dynamic.orders.outbox;
+
+public enum OrderEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
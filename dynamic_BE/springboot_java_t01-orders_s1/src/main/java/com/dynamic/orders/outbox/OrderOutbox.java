@@ -0,0 +1,136 @@
+package com.dynamic.orders.outbox;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code order_outbox} table.
+ *
+ * Appends go through a JDBC batch so bulk creates stay one round trip, and are
+ * MANDATORY-transactional: an event is only ever written together with the
+ * order change it describes. Rows that cannot be decoded are handed back
+ * separately so the relay can move them to {@code order_outbox_dead}. Reads
+ * claim their rows, so relays on several instances never deliver the same row
+ * concurrently.
+ */
+@Repository
+public class OrderOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_outbox (order_id, event_type, previous_status, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    // rows another relay has claimed are skipped, not waited for
+    private static final String CLAIM_OLDEST_SQL =
+            "SELECT id, order_id, event_type, previous_status, payload, created_at FROM order_outbox ORDER BY id LIMIT ?"
+                    + " FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM order_outbox WHERE id = ?";
+    private static final String INSERT_DEAD_SQL =
+            "INSERT INTO order_outbox_dead (id, order_id, event_type, previous_status, payload, created_at, error, dead_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** Pending events in id order, and the rows among them that could not be decoded. */
+    public record Batch(List<OrderChangeEvent> events, List<UnreadableEvent> unreadable) {}
+
+    /** An outbox row as stored, with the reason it could not be decoded. */
+    public record UnreadableEvent(long eventId, int orderId, String eventType, String previousStatus,
+                                  String payload, Timestamp createdAt, String error) {}
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<OrderChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setInt(1, event.orderId());
+            ps.setString(2, event.type().name());
+            ps.setString(3, event.previousStatus() == null ? null : event.previousStatus().name());
+            ps.setString(4, writePayload(event.order()));
+            ps.setTimestamp(5, Timestamp.from(event.occurredAt()));
+        });
+    }
+
+    /**
+     * Oldest pending rows first, at most {@code limit}, locked until the caller's
+     * transaction ends. Rows locked by another relay are left to it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Batch claimOldest(int limit) {
+        List<OrderChangeEvent> events = new ArrayList<>();
+        List<UnreadableEvent> unreadable = new ArrayList<>();
+        jdbc.query(CLAIM_OLDEST_SQL, rs -> {
+            String previous = rs.getString("previous_status");
+            try {
+                events.add(new OrderChangeEvent(
+                        rs.getLong("id"),
+                        OrderEventType.valueOf(rs.getString("event_type")),
+                        rs.getInt("order_id"),
+                        previous == null ? null : OrderStatus.valueOf(previous),
+                        readPayload(rs.getString("payload")),
+                        rs.getTimestamp("created_at").toInstant()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                unreadable.add(new UnreadableEvent(rs.getLong("id"), rs.getInt("order_id"),
+                        rs.getString("event_type"), previous, rs.getString("payload"),
+                        rs.getTimestamp("created_at"), e.toString()));
+            }
+        }, limit);
+        return new Batch(events, unreadable);
+    }
+
+    /** Remove events once the sink has accepted them. */
+    public void delete(List<OrderChangeEvent> events) {
+        jdbc.batchUpdate(DELETE_SQL, events, events.size(), (ps, event) -> ps.setLong(1, event.eventId()));
+    }
+
+    /** Move rows that cannot be decoded to {@code order_outbox_dead}, out of the relay's way. */
+    @Transactional
+    public void deadLetter(List<UnreadableEvent> rows) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.batchUpdate(INSERT_DEAD_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.eventId());
+            ps.setInt(2, row.orderId());
+            ps.setString(3, row.eventType());
+            ps.setString(4, row.previousStatus());
+            ps.setString(5, row.payload());
+            ps.setTimestamp(6, row.createdAt());
+            ps.setString(7, row.error().length() > MAX_ERROR_LENGTH
+                    ? row.error().substring(0, MAX_ERROR_LENGTH) : row.error());
+            ps.setTimestamp(8, now);
+        });
+        jdbc.batchUpdate(DELETE_SQL, rows, rows.size(), (ps, row) -> ps.setLong(1, row.eventId()));
+    }
+
+    private String writePayload(OrderDto order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload for order " + order.id(), e);
+        }
+    }
+
+    private OrderDto readPayload(String payload) {
+        try {
+            return objectMapper.readValue(payload, OrderDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload: " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.dynamic.orders.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Background relay from the outbox table to the configured {@link OrderEventSink}.
+ *
+ * Every {@code orders.outbox.poll-interval-ms} it publishes full batches of
+ * {@code orders.outbox.batch-size}; a partial batch is held back until its oldest
+ * event has waited {@code orders.outbox.linger-ms}. Events are deleted only after
+ * the sink accepted them, so a crash in between re-delivers (at-least-once).
+ * Rows that cannot be decoded are moved to {@code order_outbox_dead} and
+ * counted, so one corrupt row does not hold back every event after it.
+ *
+ * Each batch is claimed, published and deleted in one transaction, and the claim
+ * skips rows another instance holds, so the relay can run on every instance.
+ * With several relays, batches are no longer delivered in global id order;
+ * consumers order an order's events by its version.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OrderOutbox outbox;
+    private final OrderEventSink sink;
+    private final PlatformTransactionManager txManager;
+    private final int batchSize;
+    private final Duration linger;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+
+    public OutboxRelay(OrderOutbox outbox, OrderEventSink sink, PlatformTransactionManager txManager,
+                       MeterRegistry registry,
+                       @Value("${orders.outbox.batch-size:100}") int batchSize,
+                       @Value("${orders.outbox.linger-ms:250}") long lingerMs) {
+        this.outbox = outbox;
+        this.sink = sink;
+        this.txManager = txManager;
+        this.batchSize = batchSize;
+        this.linger = Duration.ofMillis(lingerMs);
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Order change events delivered to the sink")
+                .register(registry);
+        this.failures = Counter.builder("orders.outbox.failures")
+                .description("Relay runs that failed and left events for retry")
+                .register(registry);
+        this.deadLettered = Counter.builder("orders.outbox.dead.lettered")
+                .description("Outbox rows that could not be decoded, moved to order_outbox_dead")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            drain();
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Outbox relay failed; events stay in the outbox and will be retried", e);
+        }
+    }
+
+    /**
+     * Publish everything that is ready right now.
+     *
+     * @return number of events delivered
+     */
+    public int drain() throws Exception {
+        int delivered = 0;
+        int sent;
+        while ((sent = relayBatch()) >= 0) {
+            delivered += sent;
+        }
+        return delivered;
+    }
+
+    /**
+     * Claim, publish and delete one batch in one transaction; a failed publish
+     * rolls back and releases the claim.
+     *
+     * @return events delivered, or -1 when nothing is ready
+     */
+    private int relayBatch() throws Exception {
+        TransactionStatus tx = txManager.getTransaction(TransactionDefinition.withDefaults());
+        int sent;
+        try {
+            sent = claimAndPublish();
+        } catch (Exception | Error e) {
+            txManager.rollback(tx);
+            throw e;
+        }
+        txManager.commit(tx);
+        return sent;
+    }
+
+    private int claimAndPublish() throws Exception {
+        OrderOutbox.Batch claimed = outbox.claimOldest(batchSize);
+        if (!claimed.unreadable().isEmpty()) {
+            outbox.deadLetter(claimed.unreadable());
+            deadLettered.increment(claimed.unreadable().size());
+            claimed.unreadable().forEach(row -> log.error(
+                    "Outbox event {} for order {} cannot be decoded, moved to order_outbox_dead: {}",
+                    row.eventId(), row.orderId(), row.error()));
+            return 0;
+        }
+        List<OrderChangeEvent> batch = claimed.events();
+        if (batch.isEmpty() || (batch.size() < batchSize && isLingering(batch.get(0)))) {
+            return -1;
+        }
+        sink.publish(batch);
+        outbox.delete(batch);
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private boolean isLingering(OrderChangeEvent oldest) {
+        return oldest.occurredAt().isAfter(Instant.now().minus(linger));
+    }
+}
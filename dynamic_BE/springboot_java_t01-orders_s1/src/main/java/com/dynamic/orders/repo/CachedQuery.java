@@ -0,0 +1,29 @@
+package com.dynamic.orders.repo;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
+/**
+ * Marks a repository query as cacheable in the Hibernate query cache region
+ * {@value #REGION}. Results are dropped as soon as any transaction writes to
+ * {@code orders}; entity results are cached as ids and resolved through the
+ * OrderEntity region, so only use this next to a cached entity or a projection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CachedQuery.REGION)
+})
+public @interface CachedQuery {
+
+    String REGION = "orders-queries";
+}
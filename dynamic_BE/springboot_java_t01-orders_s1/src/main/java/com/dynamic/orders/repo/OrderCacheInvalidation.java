@@ -0,0 +1,62 @@
+package com.dynamic.orders.repo;
+
+import com.dynamic.orders.model.OrderEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the Hibernate second-level and query caches honest when {@code orders}
+ * is written with plain JDBC (batch insert, archive mover), which Hibernate
+ * never sees.
+ *
+ * Does what Hibernate does for its own bulk statements: the table is marked as
+ * changing for the rest of the transaction, so query results computed meanwhile
+ * are not trusted, and marked changed again on completion, which makes every
+ * cached query result over {@code orders} stale. Removed rows are evicted from
+ * the entity region at the same point. A no-op when the caches are off.
+ */
+@Component
+public class OrderCacheInvalidation {
+
+    private static final String[] SPACES = {"orders"};
+
+    private final EntityManager entityManager;
+
+    public OrderCacheInvalidation(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /** Rows were inserted or changed behind Hibernate's back in the current transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersWritten() {
+        ordersWritten(List.of());
+    }
+
+    /** As above, and {@code removedIds} no longer exist in {@code orders}. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersWritten(Collection<Integer> removedIds) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        // null when the query cache is off
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        if (timestamps == null && removedIds.isEmpty()) {
+            return;
+        }
+        if (timestamps != null) {
+            timestamps.preInvalidate(SPACES, session);
+        }
+        List<Integer> evict = List.copyOf(removedIds);
+        session.getActionQueue().registerProcess((success, completed) -> {
+            if (timestamps != null) {
+                timestamps.invalidate(SPACES, completed);
+            }
+            evict.forEach(id -> completed.getFactory().getCache().evictEntityData(OrderEntity.class, id));
+        });
+    }
+}
@@ -1,15 +1,27 @@
 package com.dynamic.orders.repo;
 
+import com.dynamic.orders.api.OrderDto;
 import com.dynamic.orders.api.OrderStatus;
 import com.dynamic.orders.model.OrderEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderEntity, Integer> {
+public interface OrderRepository extends JpaRepository<OrderEntity, Integer>, OrderRepositoryCustom {
     // JpaRepository provides all basic CRUD operations:
     // - save(OrderEntity entity)         -> INSERT/UPDATE
     // - findById(Integer id)             -> SELECT by ID  
@@ -17,10 +29,15 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Integer> {
     // - deleteById(Integer id)           -> DELETE by ID
     // - existsById(Integer id)           -> CHECK existence
     // - count()                          -> COUNT records
+    //
+    // OrderRepositoryCustom adds:
+    // - insertAll(List<OrderEntity>)     -> batched INSERT with generated keys
     
     // CUSTOM QUERY METHODS (Auto-implemented by Spring Data JPA)
-    
+    // @CachedQuery ones are served from the Hibernate query cache until the next write to orders
+
     // Find by status
+    @CachedQuery
     List<OrderEntity> findByStatus(OrderStatus status);
     // → SELECT * FROM orders WHERE status = ?
     
@@ -29,23 +46,78 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Integer> {
     // → SELECT * FROM orders WHERE item LIKE %?%
     
     // Find by price comparison
+    @CachedQuery
     List<OrderEntity> findByPriceGreaterThan(BigDecimal price);
     // → SELECT * FROM orders WHERE price > ?
     
+    @CachedQuery
     List<OrderEntity> findByPriceLessThanEqual(BigDecimal price);
     // → SELECT * FROM orders WHERE price <= ?
     
     // Find by multiple conditions
+    @CachedQuery
     List<OrderEntity> findByStatusAndPriceGreaterThan(OrderStatus status, BigDecimal price);
     // → SELECT * FROM orders WHERE status = ? AND price > ?
     
     // Count by status
+    @CachedQuery
     long countByStatus(OrderStatus status);
     // → SELECT COUNT(*) FROM orders WHERE status = ?
+
+    // Count every status in one round trip (statuses with no rows are absent)
+    @CachedQuery
+    @Query("select o.status as status, count(o) as total from OrderEntity o group by o.status")
+    List<StatusCount> countGroupByStatus();
+    // → SELECT status, COUNT(*) FROM orders GROUP BY status
     
     // Find most expensive orders first
+    @CachedQuery
     List<OrderEntity> findByStatusOrderByPriceDesc(OrderStatus status);
     // → SELECT * FROM orders WHERE status = ? ORDER BY price DESC
+
+    // DTO PROJECTIONS FOR READ ENDPOINTS
+    // Returning OrderDto makes Spring Data select `new OrderDto(o.id, o.item, ...)`:
+    // no managed entities, no dirty-checking snapshots, no entity -> DTO mapping pass.
+
+    Optional<OrderDto> findDtoById(Integer id);
+    // → SELECT id, item, price, status, version FROM orders WHERE id = ?
+
+    List<OrderDto> findDtoByIdIn(Collection<Integer> ids);
+    // → SELECT id, item, price, status, version FROM orders WHERE id IN (?, ?, ...)
+
+    // KEYSET (CURSOR) PAGINATION - seek past the last seen id instead of OFFSET
+
+    List<OrderDto> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+    // → SELECT ... FROM orders WHERE id > ? ORDER BY id LIMIT ?
+
+    @CachedQuery
+    List<OrderDto> findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus status, Integer afterId, Limit limit);
+    // → SELECT ... FROM orders WHERE status = ? AND id > ? ORDER BY id LIMIT ?
+
+    List<OrderDto> findByItemContainingAndIdGreaterThanOrderByIdAsc(String item, Integer afterId, Limit limit);
+    // → SELECT ... FROM orders WHERE item LIKE %?% AND id > ? ORDER BY id LIMIT ?
+
+    // RANKED SUBSTRING SEARCH (MySQL ngram FULLTEXT index, see db/vendor/mysql)
+    // native query, so entities come back; read-only means Hibernate keeps no snapshots
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM orders WHERE MATCH(item) AGAINST (:phrase IN BOOLEAN MODE)"
+            + " ORDER BY MATCH(item) AGAINST (:phrase IN BOOLEAN MODE) DESC, id LIMIT :limit",
+            nativeQuery = true)
+    List<OrderEntity> searchItemFullText(@Param("phrase") String phrase, @Param("limit") int limit);
+    // → uses ft_orders_item; phrase is a quoted boolean-mode phrase, e.g. "coffee"
+
+    List<OrderDto> findByItemContainingOrderByIdAsc(String item, Limit limit);
+    // → SELECT ... FROM orders WHERE item LIKE %?% ORDER BY id LIMIT ?   (fallback, full scan)
+
+    // STREAMING - forward-only cursor for full-table export.
+    // Must be consumed inside a transaction and closed (try-with-resources).
+    // On MySQL the fetch size is only honoured with useCursorFetch=true on the JDBC URL.
+    // Rows are projected straight into OrderDto, so nothing accumulates in the persistence context.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.dynamic.orders.api.OrderDto(o.id, o.item, o.price, o.status, o.version)"
+            + " from OrderEntity o order by o.id")
+    Stream<OrderDto> streamAllOrderById();
+    // → SELECT * FROM orders ORDER BY id   (rows fetched 1000 at a time)
 }
 
 // 🎨 Method Naming Keywords:
@@ -0,0 +1,18 @@
+package com.dynamic.orders.repo;
+
+import com.dynamic.orders.model.OrderEntity;
+
+import java.util.List;
+
+/**
+ * Hand-written repository operations that Spring Data JPA cannot derive.
+ * Implemented by {@link OrderRepositoryCustomImpl} and mixed into {@link OrderRepository}.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Insert all orders as one JDBC batch and set each entity's generated id.
+     * The returned entities are NOT managed by the persistence context.
+     */
+    List<OrderEntity> insertAll(List<OrderEntity> orders);
+}
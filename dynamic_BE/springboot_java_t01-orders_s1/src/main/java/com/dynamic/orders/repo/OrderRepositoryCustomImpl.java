@@ -0,0 +1,74 @@
+package com.dynamic.orders.repo;
+
+import com.dynamic.orders.model.OrderEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch insert for orders.
+ *
+ * OrderEntity uses IDENTITY ids, which makes Hibernate insert one row per round
+ * trip. Going through JDBC directly lets the driver send the whole batch at once
+ * (MySQL rewrites it into a multi-row INSERT with rewriteBatchedStatements=true)
+ * while still returning every generated key. Cached query results over orders
+ * are invalidated the same way a Hibernate insert would (OrderCacheInvalidation).
+ */
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO orders (item, price, status, version) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbc;
+    private final OrderCacheInvalidation cacheInvalidation;
+
+    public OrderRepositoryCustomImpl(JdbcTemplate jdbc, OrderCacheInvalidation cacheInvalidation) {
+        this.jdbc = jdbc;
+        this.cacheInvalidation = cacheInvalidation;
+    }
+
+    @Override
+    public List<OrderEntity> insertAll(List<OrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        cacheInvalidation.ordersWritten();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderEntity order = orders.get(i);
+                        ps.setString(1, order.getItem());
+                        ps.setBigDecimal(2, order.getPrice());
+                        ps.setString(3, order.getStatus().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != orders.size()) {
+            throw new IllegalStateException(
+                    "Expected " + orders.size() + " generated keys but got " + generated.size());
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            // MySQL reports the key as GENERATED_KEY, other drivers as the column name
+            Number id = (Number) generated.get(i).values().iterator().next();
+            orders.get(i).setId(id.intValue());
+            orders.get(i).setVersion(0L);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dynamic.orders.repo;
+
+import com.dynamic.orders.api.OrderStatus;
+
+/**
+ * Interface projection for one row of a {@code GROUP BY status} aggregate.
+ */
+public interface StatusCount {
+    OrderStatus getStatus();
+    long getTotal();
+}
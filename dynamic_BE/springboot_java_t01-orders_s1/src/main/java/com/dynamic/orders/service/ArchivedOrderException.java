@@ -0,0 +1,19 @@
+package com.dynamic.orders.service;
+
+/**
+ * Thrown on a write to an order that OrderArchiver has moved to orders_archive.
+ * The order still exists (GET returns it) but archived orders are read-only.
+ */
+public class ArchivedOrderException extends RuntimeException {
+
+    private final int orderId;
+
+    public ArchivedOrderException(int orderId) {
+        super("Order " + orderId + " is archived; archived orders are read-only");
+        this.orderId = orderId;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+}
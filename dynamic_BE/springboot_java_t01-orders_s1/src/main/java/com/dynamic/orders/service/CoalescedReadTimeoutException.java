@@ -0,0 +1,14 @@
+package com.dynamic.orders.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a read collapsed onto an identical in-flight read did not get the
+ * shared result within {@code orders.coalesce.wait-ms}.
+ */
+public class CoalescedReadTimeoutException extends RuntimeException {
+
+    public CoalescedReadTimeoutException(String op, Duration waited) {
+        super("Identical " + op + " read still running after " + waited.toMillis() + " ms; retry later");
+    }
+}
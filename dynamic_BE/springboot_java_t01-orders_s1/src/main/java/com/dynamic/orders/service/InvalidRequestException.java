@@ -0,0 +1,17 @@
+package com.dynamic.orders.service;
+
+/**
+ * Client input the API rejects with 400 beyond bean validation (a malformed
+ * cursor, an oversized batch, a bad header). Its message goes back to the client,
+ * so only throw it with text written for API users.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dynamic.orders.service;
+
+import com.dynamic.orders.api.OrderDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside for OrderService.get that cannot put a pre-update order back
+ * after the update's eviction (the classic cache-aside race: a read that
+ * started before the commit finishing after it).
+ *
+ * Every eviction first bumps an invalidation stamp for the order (striped by
+ * id), then removes the entry. A load notes the stamp before it reads and
+ * stores its result only if the stamp is still the same, checked and stored
+ * in one per-key {@code compute}; the removal takes the same key lock, so a
+ * load that overlapped an eviction either sees the new stamp or is removed
+ * right after. Such a load still returns its result to its own callers.
+ *
+ * Evictions run after the writing transaction commits. An entry is therefore
+ * never older than the last committed write through this service, apart from
+ * the moment between commit and eviction; writes that bypass it (other
+ * instances, the reactive module, manual SQL) show up when the entry expires
+ * ({@code expireAfterWrite} in {@code spring.cache.caffeine.spec}).
+ */
+public class OrderCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Object, Object> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    public OrderCache(Cache<Object, Object> cache) {
+        this.cache = cache;
+    }
+
+    public Optional<OrderDto> getIfPresent(int id) {
+        return Optional.ofNullable((OrderDto) cache.getIfPresent(id));
+    }
+
+    /** Run {@code read} and cache what it found, unless the order was evicted meanwhile. */
+    public Optional<OrderDto> load(int id, Supplier<Optional<OrderDto>> read) {
+        int stripe = stripe(id);
+        long stamp = stamps.get(stripe);
+        Optional<OrderDto> found = read.get();
+        found.ifPresent(order -> cache.asMap().compute(id,
+                (key, current) -> stamps.get(stripe) == stamp ? order : current));
+        return found;
+    }
+
+    /** Evict once the current transaction commits (nothing on rollback), or now without one. */
+    public void evictAfterCommit(int id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    void evict(int id) {
+        stamps.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(int id) {
+        return Math.floorMod(id, STRIPES);
+    }
+}
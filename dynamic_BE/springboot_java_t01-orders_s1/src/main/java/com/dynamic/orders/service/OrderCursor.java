@@ -0,0 +1,41 @@
+package com.dynamic.orders.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen order id as an opaque, URL-safe cursor token.
+ */
+public final class OrderCursor {
+
+    private static final String PREFIX = "id:";
+
+    private OrderCursor() {}
+
+    public static String encode(int lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decode a cursor back to the last seen id; a null or blank cursor means
+     * "start from the beginning" and decodes to 0.
+     *
+     * @throws InvalidRequestException when the token was not produced by {@link #encode(int)}
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return Integer.parseInt(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // bad Base64; NumberFormatException is an IllegalArgumentException too
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+}
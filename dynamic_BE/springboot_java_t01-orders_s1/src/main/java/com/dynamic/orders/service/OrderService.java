@@ -1,90 +1,408 @@
 package com.dynamic.orders.service;
 
 import com.dynamic.orders.api.*;
+import com.dynamic.orders.archive.OrderArchive;
+import com.dynamic.orders.datasource.ReadYourWrites;
 import com.dynamic.orders.model.OrderEntity;
 import com.dynamic.orders.repo.OrderRepository;
 import com.dynamic.orders.mapper.OrderMapper;
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import com.dynamic.orders.outbox.OrderChanges;
+import com.dynamic.orders.outbox.OrderOutbox;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "orders.service", description = "OrderService method latency")
 public class OrderService {
 
+    // default MySQL ngram_token_size; shorter terms cannot match the FULLTEXT index
+    private static final int MIN_FULLTEXT_TERM = 2;
+
     private final OrderRepository repo;
     private final OrderMapper mapper;
+    private final OrderOutbox outbox;
+    private final OrderArchive archive;
+    private final ApplicationEventPublisher events;
+    private final OrderCache cache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int batchMaxSize;
+    private final int batchChunkSize;
+    private final boolean fullTextSearch;
+    private final int lookupMaxIds;
+    private final int lookupChunkSize;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean coalesce;
+    private final SingleFlight<FlightKey<Integer>, Optional<OrderDto>> getFlights;
+    private final SingleFlight<FlightKey<OrderStatus>, Long> countByStatusFlights;
+    private final SingleFlight<FlightKey<String>, Map<OrderStatus, Long>> countsByStatusFlights;
 
-    public OrderService(OrderRepository repo, OrderMapper mapper) {
+    public OrderService(OrderRepository repo, OrderMapper mapper, OrderOutbox outbox, OrderArchive archive,
+                        ApplicationEventPublisher events, ObjectProvider<OrderCache> cache,
+                        PlatformTransactionManager txManager, MeterRegistry registry,
+                        @Value("${orders.page.default-size:50}") int defaultPageSize,
+                        @Value("${orders.page.max-size:500}") int maxPageSize,
+                        @Value("${orders.batch.max-size:5000}") int batchMaxSize,
+                        @Value("${orders.batch.chunk-size:500}") int batchChunkSize,
+                        @Value("${orders.search.fulltext:false}") boolean fullTextSearch,
+                        @Value("${orders.lookup.max-ids:5000}") int lookupMaxIds,
+                        @Value("${orders.lookup.chunk-size:1000}") int lookupChunkSize,
+                        @Value("${orders.coalesce.enabled:true}") boolean coalesce,
+                        @Value("${orders.coalesce.wait-ms:2000}") long coalesceWaitMs) {
         this.repo = repo;
         this.mapper = mapper;
+        this.outbox = outbox;
+        this.archive = archive;
+        this.events = events;
+        this.cache = cache.getIfAvailable();
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.batchMaxSize = batchMaxSize;
+        this.batchChunkSize = batchChunkSize;
+        this.fullTextSearch = fullTextSearch;
+        this.lookupMaxIds = lookupMaxIds;
+        this.lookupChunkSize = lookupChunkSize;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.coalesce = coalesce;
+        Duration coalesceWait = Duration.ofMillis(coalesceWaitMs);
+        this.getFlights = new SingleFlight<>("get", coalesceWait, registry);
+        this.countByStatusFlights = new SingleFlight<>("countByStatus", coalesceWait, registry);
+        this.countsByStatusFlights = new SingleFlight<>("countsByStatus", coalesceWait, registry);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> list() {
-        return repo.findAll()
-                  .stream()
-                  .map(mapper::toDto)
-                  .toList();
+    public OrderPage list(String cursor, Integer limit) {
+        return page(cursor, limit, seek -> repo.findByIdGreaterThanOrderByIdAsc(seek.afterId(), seek.limit()));
     }
 
+    /**
+     * Push every order to the given sink without materializing the table: the hot
+     * table in id order, then the archive (see OrderArchiver) in id order. Rows are
+     * read as DTO projections, so the persistence context stays empty and memory
+     * stays flat regardless of table size. Both reads share one transaction, so on
+     * MySQL's default REPEATABLE READ an order archived mid-export appears once.
+     */
     @Transactional(readOnly = true)
+    public void exportAll(Consumer<OrderDto> sink) {
+        try (Stream<OrderDto> rows = repo.streamAllOrderById()) {
+            rows.forEach(sink);
+        }
+        archive.streamAll(sink);
+    }
+
+    /**
+     * Point read through the order cache when {@code orders.cache.enabled} (see
+     * OrderCache); misses (empty results) are not cached. Orders moved to the
+     * archive (see OrderArchiver) are still found here. Concurrent misses for the
+     * same id share one lookup (see coalesced), and only that lookup fills the
+     * cache: a caller joining it after an update committed may get the older
+     * result once, but never caches it. Inside a transaction the cache is skipped,
+     * so the caller sees its own uncommitted writes and never caches them.
+     *
+     * With a read replica, requests pinned by ReadYourWrites skip the cache and
+     * read the primary on their own, and misses are filled from the primary: a row
+     * read from a lagging replica right after an update's eviction would otherwise
+     * stay cached.
+     */
     public Optional<OrderDto> get(int id) {
-        return repo.findById(id)
-                  .map(mapper::toDto);
+        if (cache == null || ReadYourWrites.isPinned()
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return coalesced(getFlights, id, () -> find(id));
+        }
+        Optional<OrderDto> cached = cache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return cacheFill(getFlights, id, () -> cache.load(id, () -> find(id)));
+    }
+
+    private Optional<OrderDto> find(int id) {
+        return repo.findDtoById(id).or(() -> archive.findById(id));
+    }
+
+    /**
+     * Multi-get: resolve many ids in one transaction with IN-list queries of at
+     * most {@code orders.lookup.chunk-size} distinct ids each. Results follow the
+     * request order; ids not in the hot table are looked up in the archive, and
+     * unknown ids come back as explicit not-found entries.
+     */
+    @Transactional(readOnly = true)
+    public OrderLookup getAll(List<Integer> ids) {
+        if (ids.size() > lookupMaxIds) {
+            throw new InvalidRequestException("ids must contain <= " + lookupMaxIds + " entries");
+        }
+        List<Integer> distinct = ids.stream().distinct().toList();
+        Map<Integer, OrderDto> found = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += lookupChunkSize) {
+            repo.findDtoByIdIn(distinct.subList(from, Math.min(from + lookupChunkSize, distinct.size())))
+                .forEach(dto -> found.put(dto.id(), dto));
+        }
+        List<Integer> cold = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        for (int from = 0; from < cold.size(); from += lookupChunkSize) {
+            archive.findAllById(cold.subList(from, Math.min(from + lookupChunkSize, cold.size())))
+                   .forEach(dto -> found.put(dto.id(), dto));
+        }
+
+        List<OrderLookup.Entry> results = new ArrayList<>(ids.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            OrderDto dto = found.get(id);
+            results.add(new OrderLookup.Entry(id, dto != null, dto));
+            if (dto == null) {
+                missing.add(id);
+            }
+        }
+        return new OrderLookup(results, missing);
     }
 
     @Transactional
     public OrderDto create(CreateOrderRequest req) {
         OrderEntity entity = mapper.toEntity(req);
         OrderEntity savedEntity = repo.save(entity);
-        return mapper.toDto(savedEntity);
+        OrderDto created = mapper.toDto(savedEntity);
+        record(List.of(OrderChangeEvent.created(created)));
+        return created;
+    }
+
+    /**
+     * Create many orders in one transaction using JDBC batch inserts, one batch
+     * per {@code orders.batch.chunk-size} rows. Results keep the request order.
+     */
+    @Transactional
+    public List<OrderDto> createAll(List<CreateOrderRequest> reqs) {
+        if (reqs.size() > batchMaxSize) {
+            throw new InvalidRequestException("batch size must be <= " + batchMaxSize);
+        }
+        List<OrderDto> created = new ArrayList<>(reqs.size());
+        for (int from = 0; from < reqs.size(); from += batchChunkSize) {
+            List<OrderEntity> chunk = reqs.subList(from, Math.min(from + batchChunkSize, reqs.size()))
+                    .stream()
+                    .map(mapper::toEntity)
+                    .toList();
+            List<OrderDto> inserted = repo.insertAll(chunk).stream().map(mapper::toDto).toList();
+            record(inserted.stream().map(OrderChangeEvent::created).toList());
+            created.addAll(inserted);
+        }
+        return created;
     }
 
     @Transactional
     public Optional<OrderDto> update(int id, UpdateOrderRequest req) {
-        return repo.findById(id).map(entity -> {
+        return update(id, req, null);
+    }
+
+    /**
+     * Conditional update: when {@code expectedVersions} is given and the stored
+     * order is at none of them, nothing is written and StaleOrderVersionException
+     * is thrown. Concurrent writers racing past this check are caught by the
+     * @Version column at flush time (OptimisticLockingFailureException).
+     * No-op updates (nothing changed, version not bumped) emit no change event.
+     * Archived orders are read-only (ArchivedOrderException).
+     */
+    @Transactional
+    public Optional<OrderDto> update(int id, UpdateOrderRequest req, Set<Long> expectedVersions) {
+        evictAfterCommit(id);
+        Optional<OrderEntity> found = repo.findById(id);
+        if (found.isEmpty()) {
+            rejectIfArchived(id);
+        }
+        return found.map(entity -> {
+            if (expectedVersions != null && !expectedVersions.contains(entity.getVersion())) {
+                throw new StaleOrderVersionException(id, expectedVersions, entity.getVersion());
+            }
+            OrderStatus previousStatus = entity.getStatus();
+            Long previousVersion = entity.getVersion();
             mapper.updateEntity(req, entity);
-            OrderEntity updatedEntity = repo.save(entity);
-            return mapper.toDto(updatedEntity);
+            // flush now so the returned DTO (and ETag) carries the bumped version
+            OrderEntity updatedEntity = repo.saveAndFlush(entity);
+            OrderDto updated = mapper.toDto(updatedEntity);
+            if (!updated.version().equals(previousVersion)) {
+                record(List.of(OrderChangeEvent.updated(previousStatus, updated)));
+            }
+            return updated;
         });
     }
 
     @Transactional
     public boolean delete(int id) {
-        if (!repo.existsById(id)) {
+        evictAfterCommit(id);
+        Optional<OrderEntity> entity = repo.findById(id);
+        if (entity.isEmpty()) {
+            rejectIfArchived(id);
             return false;
         }
-        repo.deleteById(id);
+        OrderDto lastState = mapper.toDto(entity.get());
+        repo.delete(entity.get());
+        record(List.of(OrderChangeEvent.deleted(lastState)));
         return true;
     }
 
+    /** Not in the hot table: a 404 unless the archiver moved it, then a conflict. */
+    private void rejectIfArchived(int id) {
+        if (archive.findById(id).isPresent()) {
+            throw new ArchivedOrderException(id);
+        }
+    }
+
     // Additional business methods using the mapper
 
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByStatus(OrderStatus status) {
-        return repo.findByStatus(status)
-                  .stream()
-                  .map(mapper::toDto)
-                  .toList();
+    public OrderPage getOrdersByStatus(OrderStatus status, String cursor, Integer limit) {
+        return page(cursor, limit,
+                seek -> repo.findByStatusAndIdGreaterThanOrderByIdAsc(status, seek.afterId(), seek.limit()));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> searchByItem(String item) {
-        return repo.findByItemContaining(item)
-                  .stream()
-                  .map(mapper::toDto)
-                  .toList();
+    public OrderPage searchByItem(String item, String cursor, Integer limit) {
+        return page(cursor, limit,
+                seek -> repo.findByItemContainingAndIdGreaterThanOrderByIdAsc(item, seek.afterId(), seek.limit()));
     }
 
+    /**
+     * Substring search on item, best matches first, at most one page of results.
+     * Uses the ngram FULLTEXT index when {@code orders.search.fulltext=true} (MySQL);
+     * otherwise, or for queries shorter than one ngram, falls back to LIKE. Both
+     * paths search the same term (quotes removed, trimmed), so they find the same orders.
+     */
     @Transactional(readOnly = true)
-    public long getOrderCount() {
-        return repo.count();
+    public List<OrderDto> searchByItemRanked(String item, Integer limit) {
+        int size = clampPageSize(limit);
+        String term = item.replace("\"", "").trim();
+        if (fullTextSearch && term.length() >= MIN_FULLTEXT_TERM) {
+            return repo.searchItemFullText('"' + term + '"', size)
+                      .stream()
+                      .map(mapper::toDto)
+                      .toList();
+        }
+        return repo.findByItemContainingOrderByIdAsc(term, Limit.of(size));
     }
 
     @Transactional(readOnly = true)
+    public long getOrderCount() {
+        return repo.count() + archive.count();
+    }
+
     public long getOrderCountByStatus(OrderStatus status) {
-        return repo.countByStatus(status);
+        return coalesced(countByStatusFlights, status, () -> {
+            long archived = OrderArchive.TERMINAL.contains(status) ? archive.countsByStatus().get(status) : 0;
+            return repo.countByStatus(status) + archived;
+        });
+    }
+
+    /**
+     * Count of orders for every status (zero-filled) from a single GROUP BY query
+     * over the hot table plus the archive's per-status totals. Unmodifiable: one
+     * map may be handed to several coalesced callers.
+     */
+    public Map<OrderStatus, Long> getOrderCountsByStatus() {
+        return coalesced(countsByStatusFlights, "all", () -> {
+            Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                counts.put(status, 0L);
+            }
+            repo.countGroupByStatus().forEach(row -> counts.put(row.getStatus(), row.getTotal()));
+            archive.countsByStatus().forEach((status, archived) -> counts.merge(status, archived, Long::sum));
+            return Collections.unmodifiableMap(counts);
+        });
+    }
+
+    /**
+     * Write change events to the outbox (same transaction) and announce them to
+     * in-process listeners, which act after commit (see OrderChangeFeed).
+     */
+    private void record(List<OrderChangeEvent> changes) {
+        outbox.append(changes);
+        events.publishEvent(new OrderChanges(changes));
+    }
+
+    private void evictAfterCommit(int id) {
+        if (cache != null) {
+            cache.evictAfterCommit(id);
+        }
+    }
+
+    // Request coalescing
+
+    /** Cache fills read the primary (see cacheFill) and never share a replica read, and vice versa. */
+    private record FlightKey<T>(T arg, boolean cacheFill) {}
+
+    /**
+     * Run a read in its own read-only transaction, shared with identical reads
+     * already in flight when {@code orders.coalesce.enabled} (see SingleFlight).
+     * Callers that are inside a transaction already read on their own, so they
+     * keep seeing their uncommitted writes. So do requests pinned by
+     * ReadYourWrites: a flight that started before their write committed may
+     * still return the older row.
+     */
+    private <T, V> V coalesced(SingleFlight<FlightKey<T>, V> flights, T arg, Supplier<V> read) {
+        if (!coalesce || ReadYourWrites.isPinned() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return readOnlyTx.execute(tx -> read.get());
+        }
+        return flights.run(new FlightKey<>(arg, false), () -> readOnlyTx.execute(tx -> read.get()));
+    }
+
+    /**
+     * Like coalesced, for a read that fills a cache: it runs on the primary, shared
+     * only with other fills. Not for pinned or in-transaction callers, which skip
+     * the cache.
+     */
+    private <T, V> V cacheFill(SingleFlight<FlightKey<T>, V> flights, T arg, Supplier<V> read) {
+        return ReadYourWrites.onPrimary(() -> coalesce
+                ? flights.run(new FlightKey<>(arg, true), () -> readOnlyTx.execute(tx -> read.get()))
+                : readOnlyTx.execute(tx -> read.get()));
+    }
+
+    // Keyset pagination helpers
+
+    private record Seek(int afterId, Limit limit) {}
+
+    /**
+     * Fetch one row more than requested so we know whether a next page exists
+     * without issuing a separate COUNT query.
+     */
+    private OrderPage page(String cursor, Integer limit, Function<Seek, List<OrderDto>> query) {
+        int size = clampPageSize(limit);
+        int afterId = OrderCursor.decode(cursor);
+        List<OrderDto> rows = query.apply(new Seek(afterId, Limit.of(size + 1)));
+
+        boolean hasMore = rows.size() > size;
+        List<OrderDto> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? OrderCursor.encode(items.get(items.size() - 1).id()) : null;
+        return new OrderPage(items, nextCursor);
+    }
+
+    private int clampPageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("limit must be >= 1");
+        }
+        return Math.min(limit, maxPageSize);
     }
 }
\ No newline at end of file
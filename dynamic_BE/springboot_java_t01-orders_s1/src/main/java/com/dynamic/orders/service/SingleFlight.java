@@ -0,0 +1,97 @@
+package com.dynamic.orders.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller for a key
+ * (the leader) runs the call on its own thread, callers arriving while it runs
+ * (followers) wait for and share its result. Nothing is kept once the call
+ * finishes, so the next caller starts a fresh one; this is not a cache.
+ *
+ * A leader's exception is rethrown to every follower of that flight. Followers
+ * wait at most {@code maxWait} and then fail with CoalescedReadTimeoutException
+ * instead of piling their own call onto a slow database; the leader is not
+ * interrupted.
+ *
+ * Counted as {@code orders.singleflight.calls{op, role=leader|follower}} (followers
+ * are the collapsed calls) and {@code orders.singleflight.timeouts{op}}.
+ */
+public class SingleFlight<K, V> {
+
+    private final String op;
+    private final Duration maxWait;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public SingleFlight(String op, Duration maxWait, MeterRegistry registry) {
+        this.op = op;
+        this.maxWait = maxWait;
+        this.leaders = calls(registry, op, "leader");
+        this.followers = calls(registry, op, "follower");
+        this.timeouts = Counter.builder("orders.singleflight.timeouts")
+                .description("Collapsed calls that gave up waiting for the shared result")
+                .tag("op", op)
+                .register(registry);
+    }
+
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+        leaders.increment();
+        try {
+            V result = call.get();
+            // leave the map first: a caller arriving from now on must not get this result
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new CoalescedReadTimeoutException(op, maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoalescedReadTimeoutException(op, maxWait);
+        } catch (ExecutionException e) {
+            // the leader failed: same outcome for everyone who shared its call
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter calls(MeterRegistry registry, String op, String role) {
+        return Counter.builder("orders.singleflight.calls")
+                .description("Reads by coalescing role; followers shared a leader's database call")
+                .tag("op", op)
+                .tag("role", role)
+                .register(registry);
+    }
+}
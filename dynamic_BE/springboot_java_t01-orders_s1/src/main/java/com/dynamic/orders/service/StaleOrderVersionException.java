@@ -0,0 +1,27 @@
+package com.dynamic.orders.service;
+
+import java.util.Collection;
+
+/**
+ * Thrown when a conditional write (If-Match) names no version of the order that
+ * is still current.
+ */
+public class StaleOrderVersionException extends RuntimeException {
+
+    private final int orderId;
+    private final long currentVersion;
+
+    public StaleOrderVersionException(int orderId, Collection<Long> expectedVersions, long currentVersion) {
+        super("Order " + orderId + " is at version " + currentVersion + ", not " + expectedVersions);
+        this.orderId = orderId;
+        this.currentVersion = currentVersion;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dynamic.orders.sqlprofile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of the current request, opened by {@link SqlProfilingFilter}
+ * and fed by {@link SqlProfiler}. Every request gets one so slow statements
+ * can name their endpoint; only sampled ones count statements and repeats.
+ * Only meaningful on the request thread.
+ */
+public final class SqlProfile {
+
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private final boolean sampled;
+
+    int statements;
+    long jdbcNanos;
+    long statementStart;
+    /** Executions per SQL text; batches are left out, they are one round trip by design. */
+    final Map<String, Integer> executions;
+
+    private SqlProfile(HttpServletRequest request, boolean sampled) {
+        this.request = request;
+        this.sampled = sampled;
+        this.executions = sampled ? new HashMap<>() : Map.of();
+    }
+
+    public boolean sampled() {
+        return sampled;
+    }
+
+    /**
+     * {@code "GET /api/v1/orders/{id}"}: the controller mapping, not the raw URI,
+     * so ids do not multiply the tag values. Known once the handler is chosen.
+     */
+    public String endpoint() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "unmapped" : pattern);
+    }
+
+    static SqlProfile open(HttpServletRequest request, boolean sampled) {
+        SqlProfile profile = new SqlProfile(request, sampled);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static SqlProfile current() {
+        return CURRENT.get();
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+}
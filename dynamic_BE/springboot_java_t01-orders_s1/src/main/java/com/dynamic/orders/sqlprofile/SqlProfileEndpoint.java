@@ -0,0 +1,23 @@
+package com.dynamic.orders.sqlprofile;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/sqlprofile}: per-endpoint statement counts and JDBC time of
+ * sampled requests, plus the most recent slow and repeated (N+1) statements.
+ */
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler profiler;
+
+    public SqlProfileEndpoint(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public SqlProfiler.Report sqlProfile() {
+        return profiler.report();
+    }
+}
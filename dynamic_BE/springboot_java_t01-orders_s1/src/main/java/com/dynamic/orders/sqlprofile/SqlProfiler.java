@@ -0,0 +1,262 @@
+package com.dynamic.orders.sqlprofile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement listener behind the application DataSource (see SqlProfilerConfig)
+ * and the per-endpoint aggregate of what it saw.
+ *
+ * For a sampled request ({@link SqlProfile#sampled()}) it counts statements and
+ * JDBC time and, when the request ends, reports every SQL text executed at least
+ * {@code repeatThreshold} times (the N+1 shape: one query per row of an earlier
+ * result). Slow statements are caught on every request, sampled or not, and on
+ * background threads, with their bind values masked unless showBinds is set.
+ *
+ * Findings go to the log (WARN; per-request summaries at DEBUG), to
+ * {@code /actuator/sqlprofile}, and to {@code orders.sql.statements{endpoint}},
+ * {@code orders.sql.time{endpoint}}, {@code orders.sql.slow{endpoint}} and
+ * {@code orders.sql.repeated{endpoint}}.
+ */
+public class SqlProfiler implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+
+    /** Endpoint of statements run outside any request (outbox relay, archiver, async export). */
+    static final String BACKGROUND = "background";
+    private static final int MAX_BIND_LENGTH = 64;
+
+    /**
+     * Sampling and detection thresholds; recent is the size of each findings list.
+     * showBinds reports bind values as executed instead of '?'.
+     */
+    public record Settings(double sampleRate, Duration slowThreshold, int repeatThreshold, int recent,
+                           boolean showBinds) {}
+
+    /** A statement slower than the threshold, with the binds of its first parameter set. */
+    public record SlowStatement(Instant at, String endpoint, long millis, String sql, List<String> binds,
+                                int batchSize) {}
+
+    /** One SQL text executed {@code executions} times by a single request. */
+    public record RepeatedStatement(Instant at, String endpoint, String sql, int executions) {}
+
+    /** Sampled-request totals of one endpoint; slowStatements also counts unsampled requests. */
+    public record EndpointSnapshot(long sampledRequests, double avgStatements, int maxStatements,
+                                   double avgJdbcMs, double maxJdbcMs, long repeatedStatements,
+                                   long slowStatements) {}
+
+    /** What {@code /actuator/sqlprofile} serves; findings newest first. */
+    public record Report(double sampleRate, long slowThresholdMs, int repeatThreshold,
+                         Map<String, EndpointSnapshot> endpoints, List<SlowStatement> slow,
+                         List<RepeatedStatement> repeated) {}
+
+    private final Settings settings;
+    private final long slowNanos;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Deque<SlowStatement> slow = new ArrayDeque<>();
+    private final Deque<RepeatedStatement> repeated = new ArrayDeque<>();
+
+    public SqlProfiler(Settings settings, MeterRegistry registry) {
+        if (settings.repeatThreshold() < 2) {
+            throw new IllegalArgumentException("repeat threshold must be at least 2: " + settings);
+        }
+        this.settings = settings;
+        this.slowNanos = settings.slowThreshold().toNanos();
+        this.registry = registry;
+    }
+
+    /** Whether a new request should be profiled in full. */
+    boolean sample() {
+        return ThreadLocalRandom.current().nextDouble() < settings.sampleRate();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo info, List<QueryInfo> queries) {
+        SqlProfile profile = SqlProfile.current();
+        if (profile != null) {
+            profile.statementStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo info, List<QueryInfo> queries) {
+        SqlProfile profile = SqlProfile.current();
+        long nanos = profile != null
+                ? System.nanoTime() - profile.statementStart
+                : TimeUnit.MILLISECONDS.toNanos(info.getElapsedTime());
+        if (profile != null && profile.sampled()) {
+            profile.statements++;
+            profile.jdbcNanos += nanos;
+            if (!info.isBatch()) {
+                for (QueryInfo query : queries) {
+                    profile.executions.merge(query.getQuery(), 1, Integer::sum);
+                }
+            }
+        }
+        if (nanos >= slowNanos) {
+            slow(profile == null ? BACKGROUND : profile.endpoint(), info, queries, nanos);
+        }
+    }
+
+    /** Called once per request by the filter, after the handler has run. */
+    void finish(SqlProfile profile) {
+        if (!profile.sampled()) {
+            return;
+        }
+        String endpoint = profile.endpoint();
+        EndpointStats stats = stats(endpoint);
+        int repeats = 0;
+        for (Map.Entry<String, Integer> e : profile.executions.entrySet()) {
+            if (e.getValue() >= settings.repeatThreshold()) {
+                repeats++;
+                remember(repeated, new RepeatedStatement(Instant.now(), endpoint, e.getKey(), e.getValue()));
+                log.warn("Repeated SQL on {}: {} executions of {}", endpoint, e.getValue(), e.getKey());
+            }
+        }
+        stats.request(profile.statements, profile.jdbcNanos, repeats);
+        log.debug("SQL on {}: {} statements, {} ms JDBC", endpoint, profile.statements,
+                TimeUnit.NANOSECONDS.toMillis(profile.jdbcNanos));
+    }
+
+    public Report report() {
+        Map<String, EndpointSnapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> snapshots.put(endpoint, stats.snapshot()));
+        return new Report(settings.sampleRate(), settings.slowThreshold().toMillis(), settings.repeatThreshold(),
+                snapshots, copy(slow), copy(repeated));
+    }
+
+    private void slow(String endpoint, ExecutionInfo info, List<QueryInfo> queries, long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        String sql = queries.isEmpty() ? "" : queries.get(0).getQuery();
+        List<String> binds = queries.isEmpty() ? List.of() : binds(queries.get(0), settings.showBinds());
+        stats(endpoint).slow.increment();
+        remember(slow, new SlowStatement(Instant.now(), endpoint, millis, sql, binds, info.getBatchSize()));
+        log.warn("Slow SQL on {}: {} ms, {} binds {}", endpoint, millis, sql, binds);
+    }
+
+    /** Binds of the first parameter set in parameter order; non-null values are '?' unless shown. */
+    static List<String> binds(QueryInfo query, boolean showValues) {
+        List<List<ParameterSetOperation>> sets = query.getParametersList();
+        if (sets.isEmpty()) {
+            return List.of();
+        }
+        List<ParameterSetOperation> ops = new ArrayList<>(sets.get(0));
+        ops.sort(Comparator.comparing(op -> String.valueOf(op.getArgs()[0]),
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())));
+        List<String> binds = new ArrayList<>(ops.size());
+        for (ParameterSetOperation op : ops) {
+            Object[] args = op.getArgs();
+            if (ParameterSetOperation.isSetNullParameterOperation(op) || args.length < 2 || args[1] == null) {
+                binds.add("NULL");
+            } else {
+                binds.add(showValues ? bind(args[1]) : "?");
+            }
+        }
+        return binds;
+    }
+
+    private static String bind(Object value) {
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_BIND_LENGTH) {
+            text = text.substring(0, MAX_BIND_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, e -> new EndpointStats(e, registry));
+    }
+
+    private <T> void remember(Deque<T> recent, T finding) {
+        synchronized (recent) {
+            recent.addFirst(finding);
+            while (recent.size() > settings.recent()) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    private static <T> List<T> copy(Deque<T> recent) {
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+
+    /** Totals and meters of one endpoint; the endpoint set is bounded by the controller mappings. */
+    private static final class EndpointStats {
+
+        private final DistributionSummary statementsPerRequest;
+        private final Timer jdbcTime;
+        private final Counter repeatedCounter;
+        final Counter slow;
+        private long requests;
+        private long statements;
+        private int maxStatements;
+        private long jdbcNanos;
+        private long maxJdbcNanos;
+        private long repeatedStatements;
+
+        EndpointStats(String endpoint, MeterRegistry registry) {
+            this.statementsPerRequest = DistributionSummary.builder("orders.sql.statements")
+                    .description("JDBC statements per sampled request")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            this.jdbcTime = Timer.builder("orders.sql.time")
+                    .description("Total JDBC time per sampled request")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            this.repeatedCounter = Counter.builder("orders.sql.repeated")
+                    .description("SQL texts run at least repeat-threshold times by one sampled request (N+1)")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            this.slow = Counter.builder("orders.sql.slow")
+                    .description("Statements slower than the slow threshold")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+
+        synchronized void request(int count, long nanos, int repeats) {
+            requests++;
+            statements += count;
+            maxStatements = Math.max(maxStatements, count);
+            jdbcNanos += nanos;
+            maxJdbcNanos = Math.max(maxJdbcNanos, nanos);
+            repeatedStatements += repeats;
+            statementsPerRequest.record(count);
+            jdbcTime.record(nanos, TimeUnit.NANOSECONDS);
+            repeatedCounter.increment(repeats);
+        }
+
+        synchronized EndpointSnapshot snapshot() {
+            double avgStatements = requests == 0 ? 0 : (double) statements / requests;
+            double avgJdbcMs = requests == 0 ? 0 : jdbcNanos / 1e6 / requests;
+            return new EndpointSnapshot(requests, avgStatements, maxStatements, avgJdbcMs, maxJdbcNanos / 1e6,
+                    repeatedStatements, (long) slow.count());
+        }
+    }
+}
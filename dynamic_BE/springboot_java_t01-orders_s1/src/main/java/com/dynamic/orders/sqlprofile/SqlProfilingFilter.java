@@ -0,0 +1,44 @@
+package com.dynamic.orders.sqlprofile;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlProfile} around every OrdersController request and hands it
+ * to {@link SqlProfiler} when the request returns. The sampling decision is made
+ * here, once per request, so a sampled request is profiled in full.
+ * Async work ({@code /export}, {@code /stream}) runs on other threads and is
+ * only seen by the slow-statement check, as {@code background}.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private static final String ORDERS_PATH = "/api/v1/orders";
+
+    private final SqlProfiler profiler;
+
+    public SqlProfilingFilter(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ORDERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlProfile profile = SqlProfile.open(request, profiler.sample());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlProfile.close();
+            profiler.finish(profile);
+        }
+    }
+}
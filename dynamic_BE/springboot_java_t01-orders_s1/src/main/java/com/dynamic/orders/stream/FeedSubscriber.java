@@ -0,0 +1,113 @@
+package com.dynamic.orders.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One SSE connection with its own bounded queue of pre-rendered frames.
+ *
+ * Publishers only enqueue; at most one drain task at a time writes to the socket
+ * on the sender executor, so a slow client never blocks the publisher or other
+ * subscribers. An idle subscriber holds no thread and an empty queue. Only live
+ * events count against the capacity; the replay queued on (re)connect does not,
+ * so a long replay is not dropped by the next live event.
+ */
+final class FeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor senders;
+    private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+    // live frames in the queue; the replay frames ahead of them are counted in replayLeft
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger replayLeft = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // last feed sequence number queued as replay on subscribe; live events up to it are skipped
+    private volatile long receivedUpTo;
+
+    FeedSubscriber(SseEmitter emitter, int capacity, Executor senders) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.senders = senders;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    long receivedUpTo() {
+        return receivedUpTo;
+    }
+
+    void receivedUpTo(long seq) {
+        this.receivedUpTo = seq;
+    }
+
+    /** Enqueue without blocking; false when the queue is full (slow consumer). */
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return false;
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        queue.add(frame);
+        return true;
+    }
+
+    /** Enqueue regardless of capacity; used for the replay sent on (re)connect, before any live event. */
+    void enqueue(Set<DataWithMediaType> frame) {
+        replayLeft.incrementAndGet();
+        queue.add(frame);
+    }
+
+    /** Start a drain task unless one is already running. */
+    void schedule() {
+        if (!closed.get() && draining.compareAndSet(false, true)) {
+            senders.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Set<DataWithMediaType> frame;
+            while (!closed.get() && (frame = queue.poll()) != null) {
+                if (replayLeft.get() > 0) {
+                    replayLeft.decrementAndGet();
+                } else {
+                    queued.decrementAndGet();
+                }
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // client went away or the emitter already completed
+                    close();
+                    return;
+                }
+            }
+            draining.set(false);
+        } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Stop delivering and end the response. Completion runs on the sender executor:
+     * the emitter is locked while a send is stuck on a slow socket.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        queue.clear();
+        senders.execute(emitter::complete);
+    }
+}
@@ -0,0 +1,216 @@
+package com.dynamic.orders.stream;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import com.dynamic.orders.outbox.OrderChanges;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process fan-out of committed order changes to SSE subscribers.
+ *
+ * Each change gets the id {@code <epoch>-<seq>}, where the epoch changes on every
+ * restart. The last {@code orders.stream.replay-size} events are kept so a client
+ * reconnecting with {@code Last-Event-ID} gets what it missed; if that id is
+ * unknown (too old, or from before a restart) the client receives a single
+ * {@code reset} event and should reload the list.
+ *
+ * A subscriber whose queue exceeds {@code orders.stream.buffer-size} is dropped;
+ * its EventSource reconnects and resumes from the replay buffer. Each event is
+ * serialized once and the same frame is queued for every subscriber.
+ *
+ * Committed changes are handed to a single dispatcher thread, so the committing
+ * request never fans out. The feed lock only covers numbering and the replay
+ * buffer; subscribers are offered events outside it, and each skips the events
+ * it already received as replay when it subscribed.
+ */
+@Component
+public class OrderChangeFeed {
+
+    static final String RESET_EVENT = "reset";
+
+    private final long epoch = System.currentTimeMillis();
+    private final ObjectWriter orderWriter;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<FeedEvent> replay = new ArrayDeque<>();
+    // fan-out runs here, in commit order, never on the committing request thread
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("order-feed").daemon().factory());
+    // socket writes run here
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+    private long seq;
+
+    private record FeedEvent(long seq, Set<DataWithMediaType> frame) {}
+
+    public OrderChangeFeed(ObjectMapper objectMapper, MeterRegistry registry,
+                           @Value("${orders.stream.buffer-size:256}") int bufferSize,
+                           @Value("${orders.stream.replay-size:10000}") int replaySize,
+                           @Value("${orders.stream.max-subscribers:10000}") int maxSubscribers) {
+        this.orderWriter = objectMapper.writerFor(OrderDto.class);
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxSubscribers = maxSubscribers;
+        Gauge.builder("orders.stream.subscribers", subscribers, Set::size)
+                .description("Open SSE change-feed connections")
+                .register(registry);
+        this.dropped = Counter.builder("orders.stream.dropped")
+                .description("Subscribers disconnected for falling behind")
+                .register(registry);
+    }
+
+    /**
+     * Open a subscription; with {@code lastEventId} the events after it are
+     * replayed first (or a reset event if they are no longer available).
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        // timeout comes from spring.mvc.async.request-timeout; EventSource reconnects and resumes
+        return subscribe(lastEventId, new SseEmitter());
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many stream subscribers");
+        }
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, bufferSize, senders);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<FeedEvent> missed = missedSince(lastEventId);
+                if (missed == null) {
+                    subscriber.enqueue(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON).build());
+                } else {
+                    missed.forEach(e -> subscriber.enqueue(e.frame()));
+                }
+            }
+            subscriber.receivedUpTo(seq);
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(OrderChanges changes) {
+        dispatcher.execute(() -> publish(changes.events()));
+    }
+
+    void publish(List<OrderChangeEvent> changes) {
+        List<FeedEvent> events = new ArrayList<>(changes.size());
+        synchronized (this) {
+            for (OrderChangeEvent change : changes) {
+                long id = ++seq;
+                FeedEvent event = new FeedEvent(id, frame(id, change));
+                events.add(event);
+                replay.addLast(event);
+                if (replay.size() > replaySize) {
+                    replay.removeFirst();
+                }
+            }
+        }
+        for (FeedSubscriber subscriber : subscribers) {
+            if (subscriber.isClosed()) {
+                remove(subscriber);
+                continue;
+            }
+            for (FeedEvent event : events) {
+                if (event.seq() > subscriber.receivedUpTo() && !subscriber.offer(event.frame())) {
+                    dropped.increment();
+                    remove(subscriber);
+                    subscriber.close();
+                    break;
+                }
+            }
+            subscriber.schedule();
+        }
+    }
+
+    /** Comment line to every subscriber: keeps proxies from idling out and detects dead clients. */
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (FeedSubscriber subscriber : subscribers) {
+            if (subscriber.offer(ping)) {
+                subscriber.schedule();
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(FeedSubscriber::close);
+        senders.shutdownNow();
+    }
+
+    /** Events after the given id, or null if the id is not from this run's replay window. */
+    private List<FeedEvent> missedSince(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        long lastSeq;
+        try {
+            if (dash < 0 || Long.parseLong(lastEventId.substring(0, dash)) != epoch) {
+                return null;
+            }
+            lastSeq = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = replay.isEmpty() ? seq + 1 : replay.peekFirst().seq();
+        if (lastSeq > seq || lastSeq < oldest - 1) {
+            return null;
+        }
+        return replay.stream().filter(e -> e.seq() > lastSeq).toList();
+    }
+
+    private Set<DataWithMediaType> frame(long id, OrderChangeEvent change) {
+        String json;
+        try {
+            json = orderWriter.writeValueAsString(change.order());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order " + change.orderId(), e);
+        }
+        return SseEmitter.event()
+                .id(epoch + "-" + id)
+                .name(change.type().name().toLowerCase(Locale.ROOT))
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private void remove(FeedSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,11 @@
+-- Secondary indexes matching OrderRepository's derived queries.
+--
+-- (status, id)    findByStatus, countByStatus, countGroupByStatus and the status
+--                 keyset page (status = ? AND id > ? ORDER BY id)
+-- (status, price) findByStatusAndPriceGreaterThan, findByStatusOrderByPriceDesc
+-- (price)         findByPriceGreaterThan, findByPriceLessThanEqual
+--
+-- V2 is the MySQL-only FULLTEXT index in db/vendor/mysql.
+CREATE INDEX idx_orders_status_id ON orders (status, id);
+CREATE INDEX idx_orders_status_price ON orders (status, price);
+CREATE INDEX idx_orders_price ON orders (price);
@@ -0,0 +1,3 @@
+-- Optimistic locking: JPA @Version column, exposed to clients as the order's ETag.
+-- Existing rows start at version 0.
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
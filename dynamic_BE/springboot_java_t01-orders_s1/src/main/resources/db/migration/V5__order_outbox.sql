@@ -0,0 +1,11 @@
+-- Transactional outbox: OrderService writes one row per order change in the same
+-- transaction as the change; OutboxRelay publishes rows in id order and deletes them.
+CREATE TABLE order_outbox (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  order_id INT NOT NULL,
+  event_type VARCHAR(20) NOT NULL,
+  previous_status VARCHAR(20) NULL,
+  payload TEXT NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  PRIMARY KEY (id)
+);
@@ -0,0 +1,14 @@
+-- Idempotency-Key support for POST /api/v1/orders (see IdempotentOrderCreator).
+-- The key row is inserted in the same transaction as the order, so a concurrent
+-- request with the same key blocks on the primary key and then replays the result.
+-- request_hash detects a key reused for a different payload; rows expire after
+-- orders.idempotency.ttl-hours.
+CREATE TABLE order_idempotency_keys (
+  idem_key VARCHAR(255) NOT NULL,
+  request_hash CHAR(64) NOT NULL,
+  order_id INT NULL,
+  response TEXT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  PRIMARY KEY (idem_key)
+);
+CREATE INDEX idx_order_idempotency_created ON order_idempotency_keys (created_at);
@@ -0,0 +1,14 @@
+-- Outbox rows OutboxRelay cannot decode (corrupt payload, unknown event type) are
+-- moved here instead of blocking every event behind them. Same columns as
+-- order_outbox (payload kept as stored) plus why and when the row was set aside.
+CREATE TABLE order_outbox_dead (
+  id BIGINT NOT NULL,
+  order_id INT NOT NULL,
+  event_type VARCHAR(20) NOT NULL,
+  previous_status VARCHAR(20) NULL,
+  payload TEXT NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  error VARCHAR(500) NOT NULL,
+  dead_at TIMESTAMP(3) NOT NULL,
+  PRIMARY KEY (id)
+);
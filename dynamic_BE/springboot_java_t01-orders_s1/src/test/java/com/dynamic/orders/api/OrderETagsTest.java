@@ -0,0 +1,102 @@
+package com.dynamic.orders.api;
+
+import com.dynamic.orders.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GET and PUT: the order's version is its strong ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderETagsTest {
+
+    @Autowired OrderService service;
+    @Autowired MockMvc mvc;
+
+    int id;
+
+    @BeforeEach void create() {
+        id = service.create(new CreateOrderRequest("etag", BigDecimal.ONE)).id();
+    }
+
+    @Test void ifNoneMatchCurrentVersionIsNotModified() throws Exception {
+        mvc.perform(get("/api/v1/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        mvc.perform(get("/api/v1/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        rename("\"0\"").andExpect(status().isOk());
+        mvc.perform(get("/api/v1/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test void ifMatchCurrentVersionUpdates() throws Exception {
+        rename("\"0\"")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+        rename("*").andExpect(status().isOk());
+    }
+
+    @Test void staleIfMatchFailsWithCurrentETag() throws Exception {
+        rename("\"0\"").andExpect(status().isOk());
+
+        rename("\"0\"")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        assertEquals("renamed", service.get(id).orElseThrow().item());
+        assertEquals(1, service.get(id).orElseThrow().version());
+    }
+
+    @Test void weakIfMatchNeverMatches() throws Exception {
+        rename("W/\"0\"")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test void anyTagInTheListMayMatch() throws Exception {
+        rename("\"7\", W/\"0\", \"0\"").andExpect(status().isOk());
+        rename("\"7\", \"0\"").andExpect(status().isPreconditionFailed());
+    }
+
+    @Test void malformedIfMatchIsBadRequest() throws Exception {
+        rename("0").andExpect(status().isBadRequest());
+        rename("\"0\" \"1\"").andExpect(status().isBadRequest());
+    }
+
+    @Test void parseIfMatch() {
+        assertNull(OrderETags.parseIfMatch(null));
+        assertNull(OrderETags.parseIfMatch(" * "));
+        assertEquals(Set.of(3L), OrderETags.parseIfMatch("\"3\""));
+        assertEquals(Set.of(3L, 5L), OrderETags.parseIfMatch(" \"3\" ,W/\"4\", \"5\",\"x\""));
+        assertEquals(Set.of(), OrderETags.parseIfMatch("W/\"3\""));
+    }
+
+    private ResultActions rename(String ifMatch) throws Exception {
+        return mvc.perform(put("/api/v1/orders/{id}", id)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"item\":\"renamed\"}"));
+    }
+}
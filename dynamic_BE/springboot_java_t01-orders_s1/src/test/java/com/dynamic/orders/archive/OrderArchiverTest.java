@@ -0,0 +1,131 @@
+package com.dynamic.orders.archive;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.api.UpdateOrderRequest;
+import com.dynamic.orders.service.ArchivedOrderException;
+import com.dynamic.orders.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Terminal orders older than the cutoff move to orders_archive in batches, and
+ * lookups and counts look the same before and after the move.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "orders.archive.batch-size=2"
+})
+class OrderArchiverTest {
+
+    private static final Instant NOW = Instant.now();
+
+    @Autowired OrderService service;
+    @Autowired OrderArchiver archiver;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach void reset() {
+        jdbc.update("DELETE FROM orders");
+        jdbc.update("DELETE FROM orders_archive");
+        jdbc.update("UPDATE orders_archive_counts SET total = 0");
+    }
+
+    @Test void movesOnlyOldTerminalOrders() throws Exception {
+        OrderDto pending = order(OrderStatus.PENDING);
+        OrderDto delivered = order(OrderStatus.DELIVERED);
+        OrderDto cancelled = order(OrderStatus.CANCELLED);
+        OrderDto recent = order(OrderStatus.DELIVERED);
+        age(Duration.ofDays(60), pending.id(), delivered.id(), cancelled.id());
+        Map<OrderStatus, Long> countsBefore = service.getOrderCountsByStatus();
+
+        assertEquals(2, archiver.archiveOnce(NOW.minus(Duration.ofDays(30))));
+
+        assertEquals(List.of(pending.id(), recent.id()),
+                jdbc.queryForList("SELECT id FROM orders ORDER BY id", Integer.class));
+        assertEquals(delivered, service.get(delivered.id()).orElseThrow());
+        assertEquals(cancelled, service.get(cancelled.id()).orElseThrow());
+        assertEquals(countsBefore, service.getOrderCountsByStatus());
+        assertEquals(4, service.getOrderCount());
+        assertEquals(2, service.getOrderCountByStatus(OrderStatus.DELIVERED));
+    }
+
+    @Test void movesEverythingInBatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            order(OrderStatus.CANCELLED);
+        }
+        age(Duration.ofDays(60), jdbc.queryForList("SELECT id FROM orders", Integer.class).toArray(Integer[]::new));
+
+        assertEquals(5, archiver.archiveOnce(NOW.minus(Duration.ofDays(30))));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertEquals(5, service.getOrderCountByStatus(OrderStatus.CANCELLED));
+    }
+
+    @Test void multiGetFindsArchivedOrders() throws Exception {
+        OrderDto hot = order(OrderStatus.PENDING);
+        OrderDto cold = order(OrderStatus.DELIVERED);
+        age(Duration.ofDays(60), cold.id());
+        archiver.archiveOnce(NOW.minus(Duration.ofDays(30)));
+
+        var lookup = service.getAll(List.of(cold.id(), hot.id(), -1));
+        assertEquals(List.of(cold.id(), hot.id()),
+                lookup.results().stream().limit(2).map(e -> e.order().id()).toList());
+        assertEquals(OrderStatus.DELIVERED, lookup.results().get(0).order().status());
+        assertEquals(List.of(-1), lookup.missing());
+    }
+
+    @Test void archivedOrdersAreReadOnly() throws Exception {
+        OrderDto cold = order(OrderStatus.DELIVERED);
+        age(Duration.ofDays(60), cold.id());
+        archiver.archiveOnce(NOW.minus(Duration.ofDays(30)));
+
+        assertThrows(ArchivedOrderException.class,
+                () -> service.update(cold.id(), new UpdateOrderRequest("renamed", null, null)));
+        assertThrows(ArchivedOrderException.class, () -> service.delete(cold.id()));
+        assertEquals(cold, service.get(cold.id()).orElseThrow());
+        // unknown ids are still plain misses (404)
+        assertTrue(service.update(-1, new UpdateOrderRequest("renamed", null, null)).isEmpty());
+        assertFalse(service.delete(-1));
+    }
+
+    @Test void exportIncludesArchivedOrders() throws Exception {
+        OrderDto cold = order(OrderStatus.DELIVERED);
+        OrderDto hot = order(OrderStatus.PENDING);
+        age(Duration.ofDays(60), cold.id());
+        archiver.archiveOnce(NOW.minus(Duration.ofDays(30)));
+
+        List<OrderDto> exported = new ArrayList<>();
+        service.exportAll(exported::add);
+        // hot table first, then the archive
+        assertEquals(List.of(hot.id(), cold.id()), exported.stream().map(OrderDto::id).toList());
+        assertEquals(cold, exported.get(1));
+    }
+
+    private OrderDto order(OrderStatus status) {
+        OrderDto created = service.create(new CreateOrderRequest("item", BigDecimal.ONE));
+        if (status == OrderStatus.PENDING) {
+            return created;
+        }
+        return service.update(created.id(), new UpdateOrderRequest(null, null, status)).orElseThrow();
+    }
+
+    private void age(Duration age, Integer... ids) {
+        for (Integer id : ids) {
+            jdbc.update("UPDATE orders SET updated_at = ? WHERE id = ?", Timestamp.from(NOW.minus(age)), id);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.dynamic.orders.config;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.api.UpdateOrderRequest;
+import com.dynamic.orders.archive.OrderArchiver;
+import com.dynamic.orders.repo.CachedQuery;
+import com.dynamic.orders.service.ArchivedOrderException;
+import com.dynamic.orders.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repeated status queries are answered from the query cache, and every write
+ * path (JPA update/delete, JDBC batch insert, archive move) makes the next
+ * read see the change. The same write paths keep working with the caches off.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SecondLevelCacheTest {
+
+    @Autowired OrderService service;
+    @Autowired OrderArchiver archiver;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManagerFactory emf;
+    @Autowired MeterRegistry registry;
+
+    Statistics stats;
+
+    @BeforeEach void reset() {
+        service.createAll(List.of(new CreateOrderRequest("a", BigDecimal.ONE), new CreateOrderRequest("b", BigDecimal.TEN)));
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test void repeatedCountsComeFromTheQueryCache() {
+        Map<OrderStatus, Long> counts = service.getOrderCountsByStatus();
+        long pending = service.getOrderCountByStatus(OrderStatus.PENDING);
+        long statements = stats.getPrepareStatementCount();
+
+        assertEquals(counts, service.getOrderCountsByStatus());
+        assertEquals(pending, service.getOrderCountByStatus(OrderStatus.PENDING));
+        assertTrue(stats.getQueryRegionStatistics(CachedQuery.REGION).getHitCount() >= 2);
+        // only the archive counts (plain JDBC) still go to the database
+        assertEquals(statements, stats.getPrepareStatementCount());
+        assertTrue(registry.get("orders.l2cache.hit.ratio").tag("region", CachedQuery.REGION).gauge().value() > 0);
+    }
+
+    @Test void jpaUpdateAndDeleteInvalidate() {
+        OrderDto order = service.create(new CreateOrderRequest("c", BigDecimal.ONE));
+        long pending = service.getOrderCountByStatus(OrderStatus.PENDING);
+        long confirmed = service.getOrderCountByStatus(OrderStatus.CONFIRMED);
+
+        service.update(order.id(), new UpdateOrderRequest(null, null, OrderStatus.CONFIRMED));
+        assertEquals(pending - 1, service.getOrderCountByStatus(OrderStatus.PENDING));
+        assertEquals(confirmed + 1, service.getOrderCountByStatus(OrderStatus.CONFIRMED));
+
+        // the second update loads the entity from the second-level cache
+        long entityHits = stats.getSecondLevelCacheHitCount();
+        OrderDto renamed = service.update(order.id(), new UpdateOrderRequest("d", null, null)).orElseThrow();
+        assertTrue(stats.getSecondLevelCacheHitCount() > entityHits);
+        assertEquals(order.version() + 2, renamed.version());
+
+        assertTrue(service.delete(order.id()));
+        assertEquals(confirmed, service.getOrderCountByStatus(OrderStatus.CONFIRMED));
+        assertTrue(service.update(order.id(), new UpdateOrderRequest("e", null, null)).isEmpty());
+    }
+
+    @Test void jdbcBatchInsertInvalidates() {
+        long pending = service.getOrderCountByStatus(OrderStatus.PENDING);
+        long listed = service.getOrdersByStatus(OrderStatus.PENDING, null, 500).items().size();
+
+        service.createAll(List.of(new CreateOrderRequest("x", BigDecimal.ONE), new CreateOrderRequest("y", BigDecimal.ONE)));
+
+        assertEquals(pending + 2, service.getOrderCountByStatus(OrderStatus.PENDING));
+        assertEquals(listed + 2, service.getOrdersByStatus(OrderStatus.PENDING, null, 500).items().size());
+    }
+
+    @Test void archivedOrdersLeaveTheEntityCache() throws Exception {
+        OrderDto order = service.create(new CreateOrderRequest("z", BigDecimal.ONE));
+        service.update(order.id(), new UpdateOrderRequest(null, null, OrderStatus.DELIVERED));
+        Map<OrderStatus, Long> counts = service.getOrderCountsByStatus();
+        jdbc.update("UPDATE orders SET updated_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(60))), order.id());
+
+        assertTrue(archiver.archiveOnce(Instant.now().minus(Duration.ofDays(30))) >= 1);
+
+        // archived orders are read-only: the cached entity must not be found for update
+        assertThrows(ArchivedOrderException.class,
+                () -> service.update(order.id(), new UpdateOrderRequest("zz", null, null)));
+        assertEquals(counts, service.getOrderCountsByStatus());
+    }
+
+    @Nested
+    @TestPropertySource(properties = "orders.l2cache.enabled=false")
+    class CachesOff {
+
+        @Autowired OrderService service;
+        @Autowired OrderArchiver archiver;
+        @Autowired JdbcTemplate jdbc;
+
+        @Test void jdbcWritesNeedNoCache() throws Exception {
+            List<OrderDto> created = service.createAll(List.of(new CreateOrderRequest("p", BigDecimal.ONE)));
+            int id = created.get(0).id();
+            service.update(id, new UpdateOrderRequest(null, null, OrderStatus.CANCELLED));
+            jdbc.update("UPDATE orders SET updated_at = ? WHERE id = ?",
+                    Timestamp.from(Instant.now().minus(Duration.ofDays(60))), id);
+
+            assertEquals(1, archiver.archiveOnce(Instant.now().minus(Duration.ofDays(30))));
+            assertEquals(OrderStatus.CANCELLED, service.get(id).orElseThrow().status());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dynamic.orders.datasource;
+
+import com.dynamic.orders.config.SecondLevelCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-your-writes with the order cache on. The replica never receives the
+ * primary's writes here, i.e. it lags forever, so any read it serves is stale.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rywprimary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "orders.datasource.replica.enabled=true",
+        "orders.datasource.replica.url=jdbc:h2:mem:rywreplica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "orders.datasource.replica.migrate=true",
+        "orders.datasource.replica.read-your-writes-ms=60000",
+        "orders.datasource.replica.health-check-ms=3600000",
+        "orders.cache.enabled=true"
+})
+class ReadYourWritesCacheTest {
+
+    private static final String INSERT =
+            "INSERT INTO orders (id, item, price, status, version) VALUES (?, ?, 1, 'PENDING', 0)";
+
+    @Autowired ReplicaRoutingDataSource routing;
+    @Autowired ApplicationContext context;
+    @Autowired CacheManager cacheManager;
+    @Autowired MockMvc mvc;
+    @Autowired MeterRegistry meterRegistry;
+
+    JdbcTemplate primary;
+    JdbcTemplate replica;
+
+    @BeforeEach void reset() {
+        primary = new JdbcTemplate(routing.primary());
+        replica = new JdbcTemplate(routing.replica());
+        primary.update("DELETE FROM orders");
+        replica.update("DELETE FROM orders");
+        primary.update(INSERT, 100, "v1");
+        replica.update(INSERT, 100, "v1");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test void pinnedGetAfterPutSeesTheWrite() throws Exception {
+        item(mvc.perform(get("/api/v1/orders/{id}", 100)).andReturn(), "v1");
+
+        MvcResult updated = mvc.perform(put("/api/v1/orders/{id}", 100)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"item\":\"v2\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie window = updated.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(window);
+
+        // another client's miss after the eviction: filled from the primary, not the lagging replica
+        item(mvc.perform(get("/api/v1/orders/{id}", 100)).andReturn(), "v2");
+        item(mvc.perform(get("/api/v1/orders/{id}", 100).cookie(window)).andReturn(), "v2");
+    }
+
+    @Test void pinnedGetSkipsTheCache() throws Exception {
+        item(mvc.perform(get("/api/v1/orders/{id}", 100)).andReturn(), "v1");
+        // changed behind the service's back: the cached entry is not evicted
+        primary.update("UPDATE orders SET item = 'v2' WHERE id = 100");
+
+        Cookie window = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 60_000));
+        item(mvc.perform(get("/api/v1/orders/{id}", 100).cookie(window)).andReturn(), "v2");
+        item(mvc.perform(get("/api/v1/orders/{id}", 100)).andReturn(), "v1");
+    }
+
+    @Test void pinnedGetNeverJoinsAFlight() throws Exception {
+        Cookie window = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 60_000));
+        double before = flights();
+        item(mvc.perform(get("/api/v1/orders/{id}", 100).cookie(window)).andReturn(), "v1");
+        // read alone: an older cache-fill flight for the same id could return the pre-write row
+        assertEquals(before, flights());
+
+        item(mvc.perform(get("/api/v1/orders/{id}", 100)).andReturn(), "v1");
+        assertEquals(before + 1, flights());
+    }
+
+        @Test void hibernateCachesAreOffWithAReplica() {
+        assertTrue(context.getBeansOfType(SecondLevelCacheConfig.class).isEmpty());
+    }
+
+    private double flights() {
+        return meterRegistry.find("orders.singleflight.calls").tag("op", "get").counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+
+        private static void item(MvcResult result, String expected) throws Exception {
+        assertEquals(200, result.getResponse().getStatus());
+        jsonPath("$.item").value(expected).match(result);
+    }
+}
@@ -0,0 +1,106 @@
+package com.dynamic.orders.datasource;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.service.OrderService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two independent in-memory databases stand in for primary and replica. Rows are
+ * seeded with different contents on each side, so every read shows where it went.
+ * The order cache is off so get() shows the routing itself; ReadYourWritesCacheTest
+ * covers read-your-writes with the cache on.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "orders.datasource.replica.enabled=true",
+        "orders.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "orders.datasource.replica.migrate=true",
+        "orders.datasource.replica.read-your-writes-ms=60000",
+        "orders.datasource.replica.health-check-ms=3600000"
+})
+class ReplicaRoutingTest {
+
+    private static final String INSERT =
+            "INSERT INTO orders (id, item, price, status, version) VALUES (?, ?, 1, 'PENDING', 0)";
+
+    @Autowired OrderService service;
+    @Autowired ReplicaRoutingDataSource routing;
+    @Autowired MockMvc mvc;
+
+    JdbcTemplate primary;
+    JdbcTemplate replica;
+
+    @BeforeEach void reset() {
+        primary = new JdbcTemplate(routing.primary());
+        replica = new JdbcTemplate(routing.replica());
+        primary.update("DELETE FROM orders");
+        replica.update("DELETE FROM orders");
+        assertTrue(routing.check(1));
+    }
+
+    @Test void readOnlyTransactionsUseReplica() {
+        primary.update(INSERT, 100, "on-primary");
+        replica.update(INSERT, 100, "on-replica");
+
+        assertEquals("on-replica", service.get(100).orElseThrow().item());
+        assertEquals(1, service.getOrderCount());
+    }
+
+    @Test void writesUsePrimary() {
+        OrderDto created = service.create(new CreateOrderRequest("new", BigDecimal.TEN));
+
+        assertEquals(1, count(primary, created.id()));
+        assertEquals(0, count(replica, created.id()));
+        assertTrue(service.get(created.id()).isEmpty(), "replica has not seen the write");
+    }
+
+    @Test void replicaDownFallsBackToPrimary() {
+        primary.update(INSERT, 100, "on-primary");
+        replica.update(INSERT, 100, "on-replica");
+
+        routing.markDown(new SQLException("replica unreachable"));
+        assertEquals("on-primary", service.get(100).orElseThrow().item());
+
+        assertTrue(routing.check(1));
+        assertEquals("on-replica", service.get(100).orElseThrow().item());
+    }
+
+    @Test void readYourWritesWindowPinsClientToPrimary() throws Exception {
+        MvcResult created = mvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"item\":\"mine\",\"price\":5}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie window = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(window);
+        int id = primary.queryForObject("SELECT MAX(id) FROM orders", Integer.class);
+
+        mvc.perform(get("/api/v1/orders/{id}", id)).andExpect(status().isNotFound());
+        mvc.perform(get("/api/v1/orders/{id}", id).cookie(window)).andExpect(status().isOk());
+    }
+
+    private static int count(JdbcTemplate jdbc, int id) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id);
+    }
+}
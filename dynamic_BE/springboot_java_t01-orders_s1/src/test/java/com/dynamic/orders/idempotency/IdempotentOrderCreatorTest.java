@@ -0,0 +1,94 @@
+package com.dynamic.orders.idempotency;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class IdempotentOrderCreatorTest {
+
+    private static final CreateOrderRequest BOOK = new CreateOrderRequest("book", new BigDecimal("12.50"));
+
+    @Autowired IdempotentOrderCreator creator;
+    @Autowired OrderService orders;
+    @Autowired IdempotencyKeys keys;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach void reset() {
+        jdbc.update("DELETE FROM orders");
+        jdbc.update("DELETE FROM order_idempotency_keys");
+    }
+
+    @Test void retryReturnsOriginalOrder() {
+        var first = creator.create("k-retry", BOOK);
+        var retry = creator.create("k-retry", new CreateOrderRequest("book", new BigDecimal("12.5")));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.order(), retry.order());
+        assertEquals(1, orderRows());
+    }
+
+    @Test void keyReusedForDifferentRequestIsRejected() {
+        creator.create("k-reuse", BOOK);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> creator.create("k-reuse", new CreateOrderRequest("pen", BigDecimal.ONE)));
+        assertEquals(1, orderRows());
+    }
+
+    @Test void storedKeyIsReplayedWithoutCache() {
+        var first = creator.create("k-table", BOOK);
+        // fresh instance: empty front cache, same table
+        var other = new IdempotentOrderCreator(orders, keys, txManager, 10, 24, 1000);
+
+        var replay = other.create("k-table", BOOK);
+        assertTrue(replay.replayed());
+        assertEquals(first.order(), replay.order());
+        assertEquals(1, orderRows());
+    }
+
+    @Test void concurrentRequestsCreateOneOrder() throws Exception {
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotentOrderCreator.Result>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return creator.create("k-race", BOOK);
+            }));
+        }
+        start.countDown();
+
+        List<IdempotentOrderCreator.Result> done = new ArrayList<>();
+        for (Future<IdempotentOrderCreator.Result> r : results) {
+            done.add(r.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, orderRows());
+        assertEquals(1, done.stream().filter(r -> !r.replayed()).count());
+        assertEquals(1, done.stream().map(r -> r.order().id()).distinct().count());
+    }
+
+    private int orderRows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+    }
+}
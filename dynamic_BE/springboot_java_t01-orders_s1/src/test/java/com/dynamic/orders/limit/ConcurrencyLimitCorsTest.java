@@ -0,0 +1,48 @@
+package com.dynamic.orders.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Shed requests run through the CORS filter first, so a browser app sees the 503
+ * and its Retry-After instead of a CORS failure.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "orders.limits.scan.initial=1",
+        "orders.limits.scan.min=1"
+})
+class ConcurrencyLimitCorsTest {
+
+    private static final String ORIGIN = "http://localhost:4011";
+
+    @Autowired MockMvc mvc;
+    @Autowired Map<EndpointGroup, AimdLimiter> endpointLimiters;
+
+    @Test void rejectedRequestCarriesCorsHeaders() throws Exception {
+        AimdLimiter.Permit held = endpointLimiters.get(EndpointGroup.SCAN).tryAcquire();
+        assertNotNull(held);
+        try {
+            mvc.perform(get("/api/v1/orders/count").header(HttpHeaders.ORIGIN, ORIGIN))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ORIGIN))
+                    .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, "Retry-After"))
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            held.onSuccess();
+        }
+    }
+}
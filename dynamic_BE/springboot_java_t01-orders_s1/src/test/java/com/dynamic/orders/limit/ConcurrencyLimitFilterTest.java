@@ -0,0 +1,148 @@
+package com.dynamic.orders.limit;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requests are sorted into endpoint groups, turned away with 503 + Retry-After
+ * once their own group is full, and the limits follow observed latency.
+ */
+class ConcurrencyLimitFilterTest {
+
+    @Test void endpointsAreGroupedByCost() {
+        assertEquals(EndpointGroup.POINT_READ, group("GET", "/api/v1/orders/42"));
+        assertEquals(EndpointGroup.POINT_READ, group("GET", "/api/v1/orders?ids=1,2"));
+        assertEquals(EndpointGroup.POINT_READ, group("POST", "/api/v1/orders/lookup"));
+        assertEquals(EndpointGroup.SCAN, group("GET", "/api/v1/orders"));
+        assertEquals(EndpointGroup.SCAN, group("GET", "/api/v1/orders/search?item=x"));
+        assertEquals(EndpointGroup.SCAN, group("GET", "/api/v1/orders/search/ranked?item=x"));
+        assertEquals(EndpointGroup.SCAN, group("GET", "/api/v1/orders/status/PENDING"));
+        assertEquals(EndpointGroup.SCAN, group("GET", "/api/v1/orders/count"));
+        assertEquals(EndpointGroup.WRITE, group("POST", "/api/v1/orders"));
+        assertEquals(EndpointGroup.WRITE, group("POST", "/api/v1/orders/batch"));
+        assertEquals(EndpointGroup.WRITE, group("PUT", "/api/v1/orders/42"));
+        assertEquals(EndpointGroup.WRITE, group("DELETE", "/api/v1/orders/42"));
+        assertNull(group("GET", "/api/v1/orders/health"));
+        assertNull(group("GET", "/api/v1/orders/stream"));
+        assertNull(group("GET", "/api/v1/orders/export"));
+        assertNull(group("GET", "/actuator/prometheus"));
+    }
+
+    @Test void fullGroupRejectsWithoutTouchingOtherGroups() throws Exception {
+        Map<EndpointGroup, AimdLimiter> limiters = limiters(1, Duration.ofSeconds(10));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiters);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> other = new AtomicReference<>();
+
+        // while one scan is in flight, a second scan is rejected and a point read still gets in
+        filter.doFilter(request("GET", "/api/v1/orders/search?item=x"), new MockHttpServletResponse(), (req, res) -> {
+            nested.set(run(filter, request("GET", "/api/v1/orders/count"), ok()));
+            other.set(run(filter, request("GET", "/api/v1/orders/7"), ok()));
+        });
+
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertTrue(nested.get().getContentAsString().contains("scan"));
+        assertEquals(200, other.get().getStatus());
+        assertEquals(1, limiters.get(EndpointGroup.SCAN).snapshot().rejected());
+        assertEquals(0, limiters.get(EndpointGroup.SCAN).inFlight());
+    }
+
+    @Test void slowOrFailingCallsShrinkTheLimitAndFastOnesGrowIt() throws Exception {
+        Map<EndpointGroup, AimdLimiter> limiters = limiters(10, Duration.ofMillis(20));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiters);
+        AimdLimiter scans = limiters.get(EndpointGroup.SCAN);
+
+        run(filter, request("GET", "/api/v1/orders/count"), (req, res) -> sleep(40));
+        assertEquals(9, scans.limit());
+
+        run(filter, request("GET", "/api/v1/orders/count"), (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+        assertEquals(8, scans.limit());
+        assertEquals(1, scans.snapshot().dropped());
+
+        // fast calls only raise the limit while it is actually being used
+        run(filter, request("GET", "/api/v1/orders/count"), ok());
+        assertEquals(8, scans.limit());
+        AimdLimiter.Permit[] held = new AimdLimiter.Permit[5];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = scans.tryAcquire();
+        }
+        held[4].onSuccess();
+        assertEquals(9, scans.limit());
+    }
+
+    @Test void limitStaysWithinBounds() {
+        AimdLimiter limiter = new AimdLimiter(new AimdLimiter.Settings(3, 2, 4, Duration.ZERO, 0.5));
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire().onDropped();
+        }
+        assertEquals(2, limiter.limit());
+
+        AimdLimiter fast = new AimdLimiter(new AimdLimiter.Settings(3, 2, 4, Duration.ofSeconds(10), 0.5));
+        for (int i = 0; i < 5; i++) {
+            AimdLimiter.Permit first = fast.tryAcquire();
+            AimdLimiter.Permit second = fast.tryAcquire();
+            second.onSuccess();
+            first.onSuccess();
+        }
+        assertEquals(4, fast.limit());
+        assertThrows(IllegalArgumentException.class,
+                () -> new AimdLimiter(new AimdLimiter.Settings(1, 0, 4, Duration.ZERO, 0.5)));
+    }
+
+    private static Map<EndpointGroup, AimdLimiter> limiters(int limit, Duration threshold) {
+        Map<EndpointGroup, AimdLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            limiters.put(group, new AimdLimiter(new AimdLimiter.Settings(limit, 1, 100, threshold, 0.9)));
+        }
+        return limiters;
+    }
+
+    private static MockHttpServletResponse run(ConcurrencyLimitFilter filter, MockHttpServletRequest request,
+                                               FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FilterChain ok() {
+        return (req, res) -> {};
+    }
+
+    private static EndpointGroup group(String method, String uri) {
+        return EndpointGroup.of(request(method, uri));
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        int query = uri.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest(method, query < 0 ? uri : uri.substring(0, query));
+        if (query >= 0) {
+            for (String param : uri.substring(query + 1).split("&")) {
+                String[] kv = param.split("=", 2);
+                request.addParameter(kv[0], kv[1]);
+            }
+        }
+        return request;
+    }
+}
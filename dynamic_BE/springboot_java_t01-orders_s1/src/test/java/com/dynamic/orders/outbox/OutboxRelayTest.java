@@ -0,0 +1,207 @@
+package com.dynamic.orders.outbox;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.api.UpdateOrderRequest;
+import com.dynamic.orders.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Order changes go through the outbox table and reach the sink in commit order;
+ * a failing sink leaves events in place for the next run, undecodable rows are
+ * set aside. The scheduled relay is
+ * slowed down so each test drives {@link OutboxRelay#drain()} itself.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "orders.outbox.relay.enabled=true",
+        "orders.outbox.sink-type=memory",
+        "orders.outbox.batch-size=2",
+        "orders.outbox.linger-ms=0",
+        "orders.outbox.poll-interval-ms=3600000"
+})
+class OutboxRelayTest {
+
+    @Autowired OrderService service;
+    @Autowired OutboxRelay relay;
+    @Autowired InMemoryOrderEventSink sink;
+    @Autowired OrderOutbox outbox;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired FailingListener failingListener;
+    @Autowired PlatformTransactionManager txManager;
+
+    private static final String INSERT_RAW =
+            "INSERT INTO order_outbox (order_id, event_type, previous_status, payload, created_at) VALUES (?, ?, NULL, ?, ?)";
+
+    /** Fails the surrounding transaction for orders renamed to {@link #FAIL}. */
+    @TestConfiguration
+    static class FailingListener {
+        static final String FAIL = "fail-in-transaction";
+
+        @Autowired JdbcTemplate jdbc;
+        volatile int pendingWhenFailed;
+
+        @EventListener
+        void onChanges(OrderChanges changes) {
+            if (changes.events().stream().anyMatch(e -> FAIL.equals(e.order().item()))) {
+                pendingWhenFailed = jdbc.queryForObject("SELECT COUNT(*) FROM order_outbox", Integer.class);
+                throw new IllegalStateException("listener failed");
+            }
+        }
+    }
+
+    @BeforeEach void reset() {
+        jdbc.update("DELETE FROM order_outbox");
+        sink.clear();
+    }
+
+    @Test void publishesCreateUpdateDeleteInOrder() throws Exception {
+        OrderDto order = service.create(new CreateOrderRequest("book", new BigDecimal("12.50")));
+        service.update(order.id(), new UpdateOrderRequest(null, null, OrderStatus.SHIPPED));
+        service.delete(order.id());
+
+        assertEquals(3, relay.drain());
+        assertEquals(0, pending());
+
+        List<OrderChangeEvent> events = sink.events();
+        assertEquals(List.of(OrderEventType.CREATED, OrderEventType.UPDATED, OrderEventType.DELETED),
+                events.stream().map(OrderChangeEvent::type).toList());
+        assertTrue(events.stream().allMatch(e -> e.orderId() == order.id()));
+
+        OrderChangeEvent update = events.get(1);
+        assertTrue(update.isStatusTransition());
+        assertEquals(OrderStatus.PENDING, update.previousStatus());
+        assertEquals(OrderStatus.SHIPPED, update.order().status());
+        assertEquals(order.version() + 1, update.order().version());
+    }
+
+    @Test void batchCreateWritesOneEventPerOrder() throws Exception {
+        List<OrderDto> created = service.createAll(List.of(
+                new CreateOrderRequest("a", BigDecimal.ONE),
+                new CreateOrderRequest("b", BigDecimal.TEN),
+                new CreateOrderRequest("c", BigDecimal.TWO)));
+
+        assertEquals(3, pending());
+        assertEquals(3, relay.drain());
+        assertEquals(created.stream().map(OrderDto::id).toList(),
+                sink.events().stream().map(OrderChangeEvent::orderId).toList());
+    }
+
+    @Test void noOpUpdateEmitsNothing() {
+        OrderDto order = service.create(new CreateOrderRequest("pen", BigDecimal.ONE));
+        jdbc.update("DELETE FROM order_outbox");
+
+        service.update(order.id(), new UpdateOrderRequest(null, null, OrderStatus.PENDING));
+
+        assertEquals(0, pending());
+    }
+
+    @Test void rolledBackChangeLeavesNoEvent() {
+        OrderDto order = service.create(new CreateOrderRequest("cup", BigDecimal.ONE));
+        jdbc.update("DELETE FROM order_outbox");
+
+        // the listener throws after OrderService appended the event, inside its transaction
+        assertThrows(IllegalStateException.class, () ->
+                service.update(order.id(), new UpdateOrderRequest(FailingListener.FAIL, null, null)));
+
+        assertEquals(1, failingListener.pendingWhenFailed, "event was appended before the failure");
+        assertEquals(0, pending());
+        assertEquals("cup", service.get(order.id()).orElseThrow().item());
+    }
+
+    @Test void staleConditionalUpdateWritesNoEvent() {
+        OrderDto order = service.create(new CreateOrderRequest("mug", BigDecimal.ONE));
+        jdbc.update("DELETE FROM order_outbox");
+
+        assertThrows(RuntimeException.class, () ->
+                service.update(order.id(), new UpdateOrderRequest(null, null, OrderStatus.SHIPPED), Set.of(order.version() + 5)));
+
+        assertEquals(0, pending());
+    }
+
+    @Test void undecodableRowsAreDeadLetteredAndTheRestDelivered() throws Exception {
+        jdbc.update("DELETE FROM order_outbox_dead");
+        OrderDto before = service.create(new CreateOrderRequest("fork", BigDecimal.ONE));
+        jdbc.update(INSERT_RAW, before.id(), "CREATED", "{not json", Timestamp.from(Instant.now()));
+        jdbc.update(INSERT_RAW, before.id(), "RENAMED", "{}", Timestamp.from(Instant.now()));
+        OrderDto after = service.create(new CreateOrderRequest("knife", BigDecimal.ONE));
+
+        assertEquals(2, relay.drain());
+        assertEquals(0, pending());
+        assertEquals(List.of(before.id(), after.id()),
+                sink.events().stream().map(OrderChangeEvent::orderId).toList());
+
+        List<String> dead = jdbc.queryForList("SELECT event_type FROM order_outbox_dead ORDER BY id", String.class);
+        assertEquals(List.of("CREATED", "RENAMED"), dead);
+        assertEquals("{not json", jdbc.queryForObject(
+                "SELECT payload FROM order_outbox_dead WHERE event_type = 'CREATED'", String.class));
+    }
+
+    @Test void failedPublishIsRetried() throws Exception {
+        service.create(new CreateOrderRequest("lamp", BigDecimal.ONE));
+        service.create(new CreateOrderRequest("desk", BigDecimal.TEN));
+
+        OrderEventSink failing = batch -> { throw new IllegalStateException("sink down"); };
+        OutboxRelay broken = new OutboxRelay(outbox, failing, txManager, new SimpleMeterRegistry(), 2, 0);
+        assertThrows(IllegalStateException.class, broken::drain);
+        assertEquals(2, pending());
+
+        assertEquals(2, relay.drain());
+        assertEquals(0, pending());
+    }
+
+    @Test void rowsClaimedByAnotherRelayAreSkipped() throws Exception {
+        List<Integer> ids = service.createAll(List.of(
+                new CreateOrderRequest("a", BigDecimal.ONE),
+                new CreateOrderRequest("b", BigDecimal.ONE),
+                new CreateOrderRequest("c", BigDecimal.ONE))).stream().map(OrderDto::id).toList();
+
+        // another instance's relay holds the two oldest rows while its sink call is in flight
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = Thread.ofPlatform().start(() -> new TransactionTemplate(txManager).executeWithoutResult(tx -> {
+            assertEquals(2, outbox.claimOldest(2).events().size());
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, relay.drain());
+        assertEquals(List.of(ids.get(2)), sink.events().stream().map(OrderChangeEvent::orderId).toList());
+
+        // the other relay rolled back without publishing: its rows are delivered on the next run
+        release.countDown();
+        other.join();
+        assertEquals(2, relay.drain());
+        assertEquals(0, pending());
+    }
+
+    private int pending() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM order_outbox", Integer.class);
+    }
+}
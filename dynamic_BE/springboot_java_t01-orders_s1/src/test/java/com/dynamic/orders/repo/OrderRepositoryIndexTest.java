@@ -0,0 +1,156 @@
+package com.dynamic.orders.repo;
+
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.model.OrderEntity;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each index-backed repository query, captures the SQL Hibernate actually
+ * generated and checks H2's EXPLAIN plan (MySQL mode, schema from Flyway) for
+ * an index lookup instead of a table scan. Changing a derived query so that it
+ * no longer matches an index in V3__orders_secondary_indexes.sql fails here.
+ *
+ * findAll/streamAllOrderById read everything and the item LIKE/FULLTEXT searches
+ * are scans on H2 by design, so they are not covered.
+ */
+@DataJpaTest
+@Import(OrderCacheInvalidation.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.dynamic.orders.repo.OrderRepositoryIndexTest$CapturingInspector"
+})
+class OrderRepositoryIndexTest {
+
+    /** Records every SQL statement Hibernate prepares. */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired OrderRepository repo;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach void seedAndReset() {
+        for (int i = 0; i < 20; i++) {
+            var status = OrderStatus.values()[i % OrderStatus.values().length];
+            repo.save(new OrderEntity("item-" + i, BigDecimal.valueOf(i), status));
+        }
+        repo.flush();
+        CapturingInspector.SQL.clear();
+    }
+
+    @Test void findByStatus_usesIndex() {
+        repo.findByStatus(OrderStatus.PENDING);
+        assertUsesIndex("idx_orders_status_id");
+    }
+
+    @Test void countByStatus_usesIndex() {
+        repo.countByStatus(OrderStatus.PENDING);
+        assertUsesIndex("idx_orders_status_id");
+    }
+
+    @Test void countGroupByStatus_usesIndex() {
+        repo.countGroupByStatus();
+        assertUsesIndex("idx_orders_status_id");
+    }
+
+    @Test void findByPriceGreaterThan_usesIndex() {
+        repo.findByPriceGreaterThan(BigDecimal.TEN);
+        assertUsesIndex("idx_orders_price");
+    }
+
+    @Test void findByPriceLessThanEqual_usesIndex() {
+        repo.findByPriceLessThanEqual(BigDecimal.ONE);
+        assertUsesIndex("idx_orders_price");
+    }
+
+    @Test void findByStatusAndPriceGreaterThan_usesIndex() {
+        repo.findByStatusAndPriceGreaterThan(OrderStatus.PENDING, BigDecimal.ONE);
+        assertUsesIndex("idx_orders_status_price");
+    }
+
+    // Either status-prefixed index serves status = ?; which one is the planner's call
+    // (MySQL reads idx_orders_status_price backwards, H2 may pick (status, id) and sort).
+    @Test void findByStatusOrderByPriceDesc_usesIndex() {
+        repo.findByStatusOrderByPriceDesc(OrderStatus.PENDING);
+        assertPlanUses("idx_orders_status_(id|price)");
+    }
+
+    @Test void keysetPageByStatus_usesIndex() {
+        repo.findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.PENDING, 0, Limit.of(10));
+        assertUsesIndex("idx_orders_status_id");
+    }
+
+    @Test void keysetPage_usesPrimaryKey() {
+        repo.findByIdGreaterThanOrderByIdAsc(0, Limit.of(10));
+        assertUsesPrimaryKey();
+    }
+
+    @Test void multiGet_usesPrimaryKey() {
+        repo.findDtoByIdIn(List.of(1, 2, 3));
+        assertUsesPrimaryKey();
+    }
+
+    /** The plan reads through exactly {@code index} (H2 prints {@code public.<index>}). */
+    private void assertUsesIndex(String index) {
+        assertPlanUses(Pattern.quote(index));
+    }
+
+    /** H2 names the primary key index {@code primary_key_<suffix>}. */
+    private void assertUsesPrimaryKey() {
+        assertPlanUses("primary_key_[0-9a-z]+");
+    }
+
+    private void assertPlanUses(String indexPattern) {
+        assertEquals(1, CapturingInspector.SQL.size(), () -> "expected one statement: " + CapturingInspector.SQL);
+        String sql = CapturingInspector.SQL.get(0);
+        String plan = explain(sql).toLowerCase(Locale.ROOT);
+
+        assertFalse(plan.contains("tablescan"), () -> "table scan for " + sql + "\n" + plan);
+        assertTrue(Pattern.compile("\\bpublic\\." + indexPattern + "\\b").matcher(plan).find(),
+                () -> "expected index " + indexPattern + " for " + sql + "\n" + plan);
+    }
+
+    /** EXPLAIN the captured statement; bind values don't change H2's index choice. */
+    private String explain(String sql) {
+        return jdbc.execute((java.sql.Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                    ps.setString(i, "1");
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
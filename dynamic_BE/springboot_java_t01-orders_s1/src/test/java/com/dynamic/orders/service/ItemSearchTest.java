@@ -0,0 +1,81 @@
+package com.dynamic.orders.service;
+
+import com.dynamic.orders.api.CreateOrderRequest;
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.repo.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ranked search must find exactly the orders a LIKE substring search finds.
+ *
+ * The FULLTEXT (ngram) path only exists on MySQL: set {@code ORDERS_TEST_MYSQL_URL}
+ * to an empty database (Flyway creates the schema), e.g.
+ * {@code jdbc:mysql://localhost:3307/orders_test?user=root&password=root123}.
+ * Without it the test runs on H2, where both sides use LIKE and only the input
+ * handling is compared.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "orders.l2cache.enabled=false"
+})
+class ItemSearchTest {
+
+    private static final String MYSQL_URL = System.getenv("ORDERS_TEST_MYSQL_URL");
+    private static final List<String> ITEMS = List.of(
+            "pizza margherita", "jazz club ticket", "buzz cut", "ai assistant", "thai curry",
+            "coffee beans", "irish coffee", "capital", "banana", "plain");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        boolean mysql = MYSQL_URL != null && !MYSQL_URL.isBlank();
+        registry.add("spring.datasource.url",
+                () -> mysql ? MYSQL_URL : "jdbc:h2:mem:itemsearch;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        registry.add("orders.search.fulltext", () -> mysql);
+    }
+
+    @Autowired OrderService service;
+    @Autowired OrderRepository repo;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach void seed() {
+        jdbc.update("DELETE FROM orders");
+        service.createAll(ITEMS.stream().map(item -> new CreateOrderRequest(item, BigDecimal.ONE)).toList());
+    }
+
+    // terms made of ngrams that contain "a" or "i", the default InnoDB stopwords
+    @ParameterizedTest
+    @ValueSource(strings = {"pizza", "zz", "ai", "an", "coffee", "cap", "it"})
+    void rankedSearchFindsWhatLikeFinds(String term) {
+        Set<Integer> like = ids(repo.findByItemContainingOrderByIdAsc(term, Limit.of(100)));
+        assertFalse(like.isEmpty(), term);
+        assertEquals(like, ids(service.searchByItemRanked(term, 100)), term);
+    }
+
+    @Test void bothPathsSearchTheNormalizedTerm() {
+        Set<Integer> pizza = ids(service.searchByItemRanked("pizza", 100));
+        assertEquals(1, pizza.size());
+        assertEquals(pizza, ids(service.searchByItemRanked("  \"pizza\" ", 100)));
+        assertEquals(ids(service.searchByItemRanked("ai", 100)), ids(service.searchByItemRanked(" ai ", 100)));
+    }
+
+    private static Set<Integer> ids(List<OrderDto> orders) {
+        return orders.stream().map(OrderDto::id).collect(Collectors.toSet());
+    }
+}
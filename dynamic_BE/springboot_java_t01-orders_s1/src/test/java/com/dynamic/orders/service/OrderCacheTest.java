@@ -0,0 +1,90 @@
+package com.dynamic.orders.service;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A load that overlapped an eviction hands its result to its caller but never
+ * puts it back in the cache; evictions wait for the commit.
+ */
+class OrderCacheTest {
+
+    OrderCache cache = new OrderCache(Caffeine.newBuilder().build());
+
+    @AfterEach void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test void loadFillsTheCache() {
+        assertEquals(Optional.of(order(1)), cache.load(7, () -> Optional.of(order(1))));
+        assertEquals(Optional.of(order(1)), cache.getIfPresent(7));
+
+        cache.load(8, Optional::empty);
+        assertTrue(cache.getIfPresent(8).isEmpty());
+    }
+
+    @Test void readStartedBeforeACommittedUpdateIsNotCached() throws Exception {
+        CountDownLatch readDone = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        // the reader saw version 1, then the update to version 2 commits and evicts before it stores
+        CompletableFuture<Optional<OrderDto>> reader = CompletableFuture.supplyAsync(() -> cache.load(7, () -> {
+            readDone.countDown();
+            await(evicted);
+            return Optional.of(order(1));
+        }));
+        assertTrue(readDone.await(5, TimeUnit.SECONDS));
+        cache.evict(7);
+        evicted.countDown();
+
+        assertEquals(1, reader.get(5, TimeUnit.SECONDS).orElseThrow().version());
+        assertTrue(cache.getIfPresent(7).isEmpty(), "pre-update order must not be cached");
+
+        cache.load(7, () -> Optional.of(order(2)));
+        assertEquals(2, cache.getIfPresent(7).orElseThrow().version());
+    }
+
+    @Test void evictionWaitsForCommitAndSkipsRollback() {
+        cache.load(7, () -> Optional.of(order(1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(7);
+        assertTrue(cache.getIfPresent(7).isPresent(), "still cached while the write is uncommitted");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertTrue(cache.getIfPresent(7).isPresent(), "rollback keeps the entry");
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(7);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(cache.getIfPresent(7).isEmpty());
+    }
+
+    private static OrderDto order(long version) {
+        return new OrderDto(7, "item", BigDecimal.ONE, OrderStatus.PENDING, version);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
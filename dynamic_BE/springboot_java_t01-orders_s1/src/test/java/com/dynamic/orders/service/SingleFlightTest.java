@@ -0,0 +1,141 @@
+package com.dynamic.orders.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent identical calls share one execution and its outcome; followers give
+ * up after the bounded wait; nothing outlives the flight.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<Integer, String> flight = new SingleFlight<>("get", Duration.ofSeconds(10), registry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startAll(flight, 7, () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "order-7";
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("order-7", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(CALLERS - 1, calls("follower"));
+    }
+
+    @Test void leaderFailureReachesEveryFollower() throws Exception {
+        SingleFlight<Integer, String> flight = new SingleFlight<>("get", Duration.ofSeconds(10), registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startAll(flight, 7, () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        // the failure is not remembered: the next call runs again
+        assertEquals("recovered", flight.run(7, () -> "recovered"));
+    }
+
+    @Test void followersStopWaitingAfterTheBound() throws Exception {
+        SingleFlight<Integer, String> flight = new SingleFlight<>("get", Duration.ofMillis(50), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = pool.submit(() -> flight.run(7, () -> {
+            await(release);
+            return "slow";
+        }));
+        awaitLeader();
+
+        assertThrows(CoalescedReadTimeoutException.class, () -> flight.run(7, () -> "never runs"));
+        assertEquals(1, registry.get("orders.singleflight.timeouts").counter().count());
+
+        release.countDown();
+        assertEquals("slow", leader.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test void differentKeysAndLaterCallsRunOnTheirOwn() {
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>("get", Duration.ofSeconds(1), registry);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, flight.run(1, executions::incrementAndGet));
+        assertEquals(2, flight.run(2, executions::incrementAndGet));
+        assertEquals(3, flight.run(1, executions::incrementAndGet));
+        assertEquals(0, calls("follower"));
+    }
+
+    private List<Future<String>> startAll(SingleFlight<Integer, String> flight, int key, Supplier<String> call)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(pool.submit(() -> flight.run(key, call)));
+        awaitLeader();
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(pool.submit(() -> flight.run(key, call)));
+        }
+        return results;
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        awaitCount("leader", 1);
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        awaitCount("follower", followers);
+    }
+
+    private void awaitCount(String role, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calls(role) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, calls(role));
+    }
+
+    private double calls(String role) {
+        return registry.get("orders.singleflight.calls").tag("role", role).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
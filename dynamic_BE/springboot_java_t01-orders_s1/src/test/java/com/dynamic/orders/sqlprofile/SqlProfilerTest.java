@@ -0,0 +1,137 @@
+package com.dynamic.orders.sqlprofile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sampled requests are counted per controller endpoint and flag repeated SQL
+ * (N+1); slow statements are caught whether sampled or not, with their binds
+ * masked unless show-binds is on.
+ */
+class SqlProfilerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DataSource h2 =
+            new DriverManagerDataSource("jdbc:h2:mem:sqlprofile;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+    @BeforeEach
+    void schema() {
+        JdbcTemplate jdbc = new JdbcTemplate(h2);
+        jdbc.execute("create table if not exists items (id bigint primary key, name varchar(200))");
+        jdbc.execute("delete from items");
+        for (int i = 1; i <= 10; i++) {
+            jdbc.update("insert into items values (?, ?)", i, "item-" + i);
+        }
+    }
+
+    @Test void sampledRequestIsCountedAndRepeatsFlagged() throws Exception {
+        SqlProfiler profiler = profiler(1.0, Duration.ofSeconds(10));
+        JdbcTemplate jdbc = jdbc(profiler);
+
+        run(profiler, "GET", "/api/v1/orders", "/api/v1/orders", (req, res) -> {
+            List<Long> ids = jdbc.queryForList("select id from items order by id", Long.class);
+            for (Long id : ids) {
+                jdbc.queryForObject("select name from items where id = ?", String.class, id);
+            }
+        });
+        run(profiler, "GET", "/api/v1/orders/3", "/api/v1/orders/{id}",
+                (req, res) -> jdbc.queryForObject("select name from items where id = ?", String.class, 3));
+
+        SqlProfiler.Report report = profiler.report();
+        SqlProfiler.EndpointSnapshot list = report.endpoints().get("GET /api/v1/orders");
+        assertEquals(1, list.sampledRequests());
+        assertEquals(11, list.maxStatements());
+        assertEquals(1, list.repeatedStatements());
+        assertEquals(0, report.endpoints().get("GET /api/v1/orders/{id}").repeatedStatements());
+
+        assertEquals(1, report.repeated().size());
+        SqlProfiler.RepeatedStatement repeat = report.repeated().get(0);
+        assertEquals("GET /api/v1/orders", repeat.endpoint());
+        assertEquals("select name from items where id = ?", repeat.sql());
+        assertEquals(10, repeat.executions());
+
+        assertEquals(11.0, registry.get("orders.sql.statements").tag("endpoint", "GET /api/v1/orders")
+                .summary().totalAmount());
+        assertEquals(1.0, registry.get("orders.sql.repeated").tag("endpoint", "GET /api/v1/orders")
+                .counter().count());
+        assertEquals(1, registry.get("orders.sql.time").tag("endpoint", "GET /api/v1/orders/{id}")
+                .timer().count());
+    }
+
+    @Test void slowStatementsAreCaughtWithoutSampling() throws Exception {
+        SqlProfiler profiler = profiler(0.0, Duration.ZERO);
+        JdbcTemplate jdbc = jdbc(profiler);
+
+        run(profiler, "GET", "/api/v1/orders/search", "/api/v1/orders/search",
+                (req, res) -> jdbc.queryForList("select id from items where name = ? and id > ? or name = ?",
+                        Long.class, "x".repeat(100), 2, null));
+
+        SqlProfiler.Report report = profiler.report();
+        assertEquals(1, report.slow().size());
+        SqlProfiler.SlowStatement slow = report.slow().get(0);
+        assertEquals("GET /api/v1/orders/search", slow.endpoint());
+        assertEquals("select id from items where name = ? and id > ? or name = ?", slow.sql());
+        assertEquals(List.of("?", "?", "NULL"), slow.binds());
+
+        SqlProfiler.EndpointSnapshot search = report.endpoints().get("GET /api/v1/orders/search");
+        assertEquals(0, search.sampledRequests());
+        assertEquals(1, search.slowStatements());
+        assertTrue(report.repeated().isEmpty());
+
+        // outside a request: still caught, under "background"
+        jdbc.queryForObject("select count(*) from items", Long.class);
+        assertEquals(SqlProfiler.BACKGROUND, profiler.report().slow().get(0).endpoint());
+    }
+
+    @Test void showBindsReportsValues() throws Exception {
+        SqlProfiler profiler = new SqlProfiler(new SqlProfiler.Settings(0.0, Duration.ZERO, 5, 10, true), registry);
+        JdbcTemplate jdbc = jdbc(profiler);
+
+        jdbc.queryForList("select id from items where name = ? and id > ?", Long.class, "x".repeat(100), 2);
+
+        assertEquals(List.of("'" + "x".repeat(64) + "...'", "2"), profiler.report().slow().get(0).binds());
+    }
+
+    @Test void onlyOrdersRequestsAreProfiled() throws Exception {
+        SqlProfiler profiler = profiler(1.0, Duration.ofSeconds(10));
+        JdbcTemplate jdbc = jdbc(profiler);
+
+        run(profiler, "GET", "/actuator/health", "/actuator/health",
+                (req, res) -> jdbc.queryForObject("select count(*) from items", Long.class));
+        assertTrue(profiler.report().endpoints().isEmpty());
+        assertNull(SqlProfile.current());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SqlProfiler(new SqlProfiler.Settings(1.0, Duration.ZERO, 1, 10, false), registry));
+    }
+
+    private SqlProfiler profiler(double sampleRate, Duration slowThreshold) {
+        return new SqlProfiler(new SqlProfiler.Settings(sampleRate, slowThreshold, 5, 10, false), registry);
+    }
+
+    private JdbcTemplate jdbc(SqlProfiler profiler) {
+        return new JdbcTemplate(ProxyDataSourceBuilder.create(h2).listener(profiler).build());
+    }
+
+    private static void run(SqlProfiler profiler, String method, String uri, String pattern, FilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        // normally set by the DispatcherServlet once the handler is chosen
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        new SqlProfilingFilter(profiler).doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
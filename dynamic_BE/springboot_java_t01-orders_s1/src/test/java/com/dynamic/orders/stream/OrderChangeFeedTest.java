@@ -0,0 +1,169 @@
+package com.dynamic.orders.stream;
+
+import com.dynamic.orders.api.OrderDto;
+import com.dynamic.orders.api.OrderStatus;
+import com.dynamic.orders.outbox.OrderChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replay after Last-Event-ID, reset when the id is unknown, and dropping a
+ * subscriber that stops reading. Frames are captured from the emitter instead of
+ * a socket.
+ */
+class OrderChangeFeedTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderChangeFeed feed = new OrderChangeFeed(new ObjectMapper(), registry, 3, 3, 10);
+
+    @AfterEach void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test void liveEventsReachSubscribers() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        feed.subscribe(null, live);
+
+        feed.publish(List.of(created(1), created(2)));
+
+        assertTrue(live.next().contains("event:created"));
+        assertTrue(live.next().contains("\"id\":2"));
+    }
+
+    @Test void lastEventIdReplaysWhatWasMissed() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(null, first);
+        feed.publish(List.of(created(1)));
+        String seen = eventId(first.next());
+
+        feed.publish(List.of(created(2)));
+        feed.publish(List.of(created(3)));
+        feed.publish(List.of(created(4)));
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(1));
+        feed.subscribe(seen, resumed);
+        resumed.awaitSendStarted();
+        // a full buffer of live events behind the replay still fits
+        feed.publish(List.of(created(5), created(6), created(7)));
+        resumed.unblock();
+
+        // 2 to 4 from the replay buffer, then 5 to 7 live, each exactly once
+        for (int id = 2; id <= 7; id++) {
+            assertTrue(resumed.next().contains("\"id\":" + id));
+        }
+        assertNull(resumed.poll(200));
+        assertEquals(0.0, registry.get("orders.stream.dropped").counter().count());
+    }
+
+    @Test void unknownOrExpiredLastEventIdGetsReset() throws Exception {
+        RecordingEmitter foreign = new RecordingEmitter();
+        feed.subscribe("12345-1", foreign);
+        assertTrue(foreign.next().contains("event:" + OrderChangeFeed.RESET_EVENT));
+
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(null, first);
+        feed.publish(List.of(created(1)));
+        String oldest = eventId(first.next());
+        // replay-size is 3: once 2 falls out too, the events after 1 are incomplete
+        feed.publish(List.of(created(2), created(3), created(4)));
+        feed.publish(List.of(created(5)));
+
+        RecordingEmitter late = new RecordingEmitter();
+        feed.subscribe(oldest, late);
+        assertTrue(late.next().contains("event:" + OrderChangeFeed.RESET_EVENT));
+    }
+
+    @Test void subscriberThatFallsBehindIsDropped() throws Exception {
+        RecordingEmitter stuck = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.subscribe(null, stuck);
+        feed.subscribe(null, healthy);
+
+        feed.publish(List.of(created(1)));
+        stuck.awaitSendStarted();
+        assertTrue(healthy.next().contains("\"id\":1"));
+        // buffer-size is 3: the first send is stuck, three more fit, the fifth overflows
+        feed.publish(List.of(created(2), created(3), created(4)));
+        for (int id = 2; id <= 4; id++) {
+            assertTrue(healthy.next().contains("\"id\":" + id));
+        }
+        feed.publish(List.of(created(5)));
+
+        assertEquals(1.0, registry.get("orders.stream.dropped").counter().count());
+        assertEquals(1, feed.subscriberCount());
+        assertTrue(healthy.next().contains("\"id\":5"));
+        stuck.unblock();
+    }
+
+    private static OrderChangeEvent created(int id) {
+        return OrderChangeEvent.created(new OrderDto(id, "item-" + id, BigDecimal.ONE, OrderStatus.PENDING, 0L));
+    }
+
+    private static String eventId(String frame) {
+        Matcher id = EVENT_ID.matcher(frame);
+        assertTrue(id.find(), frame);
+        return id.group(1);
+    }
+
+    /** Captures each frame as text; optionally blocks in send like a client that stopped reading. */
+    static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch socket;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) {
+            sendStarted.countDown();
+            try {
+                socket.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(frame.stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            String frame = poll(5000);
+            assertNotNull(frame, "no frame sent");
+            return frame;
+        }
+
+        String poll(long millis) throws InterruptedException {
+            return frames.poll(millis, TimeUnit.MILLISECONDS);
+        }
+
+        void unblock() {
+            socket.countDown();
+        }
+
+        void awaitSendStarted() throws InterruptedException {
+            assertTrue(sendStarted.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 import { useEffect, useMemo, useState } from 'react'
 import './App.css'
-import { listOrders, createOrder, updateOrder, deleteOrder } from './api'
+import { listOrders, createOrder, updateOrder, deleteOrder, subscribeOrders } from './api'
 
 const fmt = (n) => Number(n).toLocaleString(undefined, { minimumFractionDigits: 2, maximumFractionDigits: 2 })
 
@@ -34,13 +34,24 @@ export default function App() {
 
   useEffect(() => { load() }, [])
 
+  // apply pushed changes instead of re-fetching the list after every write
+  useEffect(() => subscribeOrders({
+    onUpsert: (o) => setOrders(prev => {
+      const i = prev.findIndex(p => p.id === o.id)
+      if (i < 0) return [...prev, o]
+      if ((prev[i].version ?? -1) > o.version) return prev
+      const next = prev.slice(); next[i] = o; return next
+    }),
+    onDelete: (o) => setOrders(prev => prev.filter(p => p.id !== o.id)),
+    onReset: () => load(),
+  }), [])
+
   async function onCreate(e) {
     e.preventDefault()
     if (!item.trim()) return
     try {
       await createOrder({ item, price: Number(price || 0) })
       setItem(''); setPrice('')
-      await load()
     } catch (e) {
       setError(e.message || 'Create failed')
     }
@@ -49,14 +60,12 @@ export default function App() {
   async function onConfirm(id) {
     try {
       await updateOrder(id, { status: 'CONFIRMED' })
-      await load()
     } catch (e) { setError(e.message || 'Update failed') }
   }
 
   async function onDelete(id) {
     try {
       await deleteOrder(id)
-      await load()
     } catch (e) { setError(e.message || 'Delete failed') }
   }
 
@@ -1,11 +1,21 @@
 const API = import.meta.env.VITE_API_URL || 'http://localhost:7011';
 console.log('API URL:', API);
 
+// Every order: follows nextCursor until the last page (max page size per request).
 export async function listOrders() {
-  console.log('Fetching from:', `${API}/api/v1/orders`);
-  const r = await fetch(`${API}/api/v1/orders`);
-  if (!r.ok) throw new Error('Failed to load');
-  return r.json();
+  const orders = [];
+  let cursor = null;
+  do {
+    const params = new URLSearchParams({ limit: '500' });
+    if (cursor) params.set('cursor', cursor);
+    console.log('Fetching from:', `${API}/api/v1/orders?${params}`);
+    const r = await fetch(`${API}/api/v1/orders?${params}`);
+    if (!r.ok) throw new Error('Failed to load');
+    const page = await r.json(); // { items, nextCursor }
+    orders.push(...page.items);
+    cursor = page.nextCursor;
+  } while (cursor);
+  return orders;
 }
 
 export async function createOrder(payload) {
@@ -32,3 +42,16 @@ export async function deleteOrder(id) {
   const r = await fetch(`${API}/api/v1/orders/${id}`, { method: 'DELETE' });
   if (!r.ok && r.status !== 204) throw new Error('Delete failed');
 }
+
+// Live change feed (SSE). EventSource reconnects on its own and sends
+// Last-Event-ID, so missed changes are replayed; 'reset' means reload the list.
+// Returns a function that closes the stream.
+export function subscribeOrders({ onUpsert, onDelete, onReset }) {
+  const es = new EventSource(`${API}/api/v1/orders/stream`);
+  const upsert = (e) => onUpsert(JSON.parse(e.data));
+  es.addEventListener('created', upsert);
+  es.addEventListener('updated', upsert);
+  es.addEventListener('deleted', (e) => onDelete(JSON.parse(e.data)));
+  es.addEventListener('reset', () => onReset());
+  return () => es.close();
+}